@@ -0,0 +1,76 @@
+package com.fundraising.benchmarks;
+
+import com.fundraising.contracts.FundraisingCampaign;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generic web3j ABI work done by the {@link FundraisingCampaign} wrapper and the event indexer:
+ * encoding calls with dynamic arguments and decoding event data. The fixed-layout calls covered
+ * by the generated codec are compared in {@link CodecBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AbiBenchmark {
+    private String campaignCreatedData;
+    private String donationReceivedData;
+
+    @Setup
+    public void setUp() {
+        campaignCreatedData = "0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Utf8String("Clean water for Kibera"),
+                new Uint256(BigInteger.TEN.pow(19)),
+                new Address("0x5fbdb2315678afecb367f032d93f642f64180aa3")));
+        donationReceivedData = "0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Address("0x70997970c51812dc3a010c7d01b50e0d17dc79c8"),
+                new Uint256(BigInteger.TEN.pow(16))));
+    }
+
+    @Benchmark
+    public String encodeCreateCampaign() {
+        return FunctionEncoder.encode(FundraisingCampaign.createCampaignFunction(
+                "Clean water for Kibera",
+                "Boreholes and filtration units for three schools in the district",
+                BigInteger.TEN.pow(19),
+                BigInteger.valueOf(1_710_000_000L)));
+    }
+
+    @Benchmark
+    public String encodeMakeDonation() {
+        return FunctionEncoder.encode(FundraisingCampaign.makeDonationFunction(BigInteger.valueOf(4_217)));
+    }
+
+    @Benchmark
+    public List<Type> decodeCampaignCreated() {
+        return FunctionReturnDecoder.decode(campaignCreatedData,
+                FundraisingCampaign.CAMPAIGNCREATED_EVENT.getNonIndexedParameters());
+    }
+
+    @Benchmark
+    public List<Type> decodeDonationReceived() {
+        return FunctionReturnDecoder.decode(donationReceivedData,
+                FundraisingCampaign.DONATIONRECEIVED_EVENT.getNonIndexedParameters());
+    }
+}
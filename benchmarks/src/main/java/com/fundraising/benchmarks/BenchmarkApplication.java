@@ -0,0 +1,81 @@
+package com.fundraising.benchmarks;
+
+import com.fundraising.BlockchainFundraisingApplication;
+import com.fundraising.service.BlockchainService;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application context for benchmarks that need Spring beans: no web server, no chain
+ * polling, and {@link BlockchainService} replaced by an in-process stand-in so that nothing leaves
+ * the JVM.
+ */
+final class BenchmarkApplication {
+    static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseUrl, Map<String, String> overrides) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("spring.datasource.url", databaseUrl);
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("ethereum.node.url", "http://127.0.0.1:8545");
+        // Background node traffic would only log connection failures
+        properties.put("ethereum.node.health-check-interval-ms", "3600000");
+        properties.put("ethereum.receipts.poll-interval-ms", "3600000");
+        properties.put("ethereum.indexer.enabled", "false");
+        properties.put("ethereum.deployer.enabled", "false");
+        properties.put("ethereum.contract.address", CONTRACT);
+        properties.put("ethereum.deployer.private-key", "0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318");
+        properties.putAll(overrides);
+        // As command line arguments, so they take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(BlockchainFundraisingApplication.class, ChainStandIn.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run(args);
+    }
+
+    // Deliberately not a @Configuration: component scanning of com.fundraising would pick it up in
+    // every context booted from this jar. Passed as a source, its @Bean methods still apply.
+    static class ChainStandIn {
+        @Bean
+        @Primary
+        BlockchainService inProcessBlockchainService() {
+            return new InProcessBlockchainService();
+        }
+    }
+
+    /** Accepts every transaction immediately and hands back a unique hash. */
+    static class InProcessBlockchainService extends BlockchainService {
+        private final AtomicLong transactions = new AtomicLong();
+
+        @Override
+        public String makeDonation(String contractAddress, BigInteger campaignId, BigInteger amount) {
+            return nextHash();
+        }
+
+        @Override
+        public void withdrawFunds(String contractAddress, BigInteger campaignId) {
+            nextHash();
+        }
+
+        private String nextHash() {
+            return Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(transactions.incrementAndGet()), 64);
+        }
+    }
+}
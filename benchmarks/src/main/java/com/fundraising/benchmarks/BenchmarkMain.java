@@ -0,0 +1,32 @@
+package com.fundraising.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}: JMH's own main, but results go to
+ * {@code results/jmh-<timestamp>.json} unless {@code -rf}/{@code -rff} are given, so every run
+ * leaves a machine-readable record to compare against other commits.
+ */
+public final class BenchmarkMain {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        boolean listing = arguments.stream().anyMatch(arg -> arg.equals("-h") || arg.startsWith("-l"));
+        if (!listing && !arguments.contains("-rf") && !arguments.contains("-rff")) {
+            Path results = Path.of("results", "jmh-" + LocalDateTime.now().format(TIMESTAMP) + ".json");
+            Files.createDirectories(results.getParent());
+            arguments.addAll(List.of("-rf", "json", "-rff", results.toString()));
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+    }
+}
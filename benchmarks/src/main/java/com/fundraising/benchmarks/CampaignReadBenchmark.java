@@ -0,0 +1,117 @@
+package com.fundraising.benchmarks;
+
+import com.fundraising.domain.Campaign;
+import com.fundraising.repository.CampaignRepository;
+import com.fundraising.service.CampaignService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Campaign reads through {@link CampaignService} on an in-memory H2 database of 100 campaigns,
+ * with ({@code secondLevelCache=true}) and without the Hibernate entity and query caches. The
+ * {@code whileDonating} group has one thread crediting random campaigns alongside three readers,
+ * so its read score includes the misses that the evictions cause.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CampaignReadBenchmark {
+    private static final int CAMPAIGNS = 100;
+    private static final BigInteger AMOUNT = BigInteger.TEN.pow(16);
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private CampaignService campaignService;
+    private List<Long> campaignIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("jdbc:h2:mem:campaign-reads;DB_CLOSE_DELAY=-1", Map.of(
+                "donation.pipeline.enabled", "false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache", String.valueOf(secondLevelCache),
+                "spring.jpa.properties.hibernate.cache.use_query_cache", String.valueOf(secondLevelCache)));
+        campaignService = context.getBean(CampaignService.class);
+        CampaignRepository campaignRepository = context.getBean(CampaignRepository.class);
+        campaignIds = new ArrayList<>(CAMPAIGNS);
+        for (int i = 1; i <= CAMPAIGNS; i++) {
+            Campaign campaign = new Campaign();
+            campaign.setTitle("Campaign " + i);
+            campaign.setDescription("Benchmark campaign " + i);
+            campaign.setTargetAmount(BigInteger.TEN.pow(24));
+            campaign.setStartDate(BigInteger.valueOf(1_700_000_000L));
+            campaign.setEndDate(BigInteger.valueOf(4_000_000_000L));
+            campaign.setContractAddress(BenchmarkApplication.CONTRACT);
+            campaign.setOnChainId(BigInteger.valueOf(i));
+            campaign.setStatus("ACTIVE");
+            campaign.setCreatorAddress(String.format("0x%040x", i % 10));
+            campaignIds.add(campaignRepository.save(campaign).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Campaign getCampaign() {
+        return campaignService.getCampaign(randomCampaign());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Campaign> getActiveCampaigns() {
+        return campaignService.getActiveCampaigns();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Campaign> getCampaignsByCreator() {
+        return campaignService.getCampaignsByCreator(String.format("0x%040x", ThreadLocalRandom.current().nextInt(10)));
+    }
+
+    @Benchmark
+    @Group("whileDonating")
+    @GroupThreads(3)
+    public Campaign read() {
+        return campaignService.getCampaign(randomCampaign());
+    }
+
+    @Benchmark
+    @Group("whileDonating")
+    @GroupThreads(1)
+    public boolean donate() {
+        return campaignService.addToCampaignTotal(randomCampaign(), AMOUNT);
+    }
+
+    private Long randomCampaign() {
+        return campaignIds.get(ThreadLocalRandom.current().nextInt(CAMPAIGNS));
+    }
+}
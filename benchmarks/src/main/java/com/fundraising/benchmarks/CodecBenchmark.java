@@ -0,0 +1,89 @@
+package com.fundraising.benchmarks;
+
+import com.fundraising.contracts.FundraisingCampaign;
+import com.fundraising.contracts.FundraisingCampaignCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated {@link FundraisingCampaignCodec} against web3j's generic {@link FunctionEncoder} and
+ * {@link FunctionReturnDecoder} for the hot contract calls. Run with {@code -prof gc} to compare
+ * allocation per operation as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+    private BigInteger campaignId;
+    private String getCampaignReturn;
+    private List<TypeReference<Type>> getCampaignOutputs;
+
+    @Setup
+    public void setUp() {
+        campaignId = BigInteger.valueOf(4_217);
+        getCampaignReturn = "0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Utf8String("Clean water for Kibera"),
+                new Utf8String("Boreholes and filtration units for three schools in the district"),
+                new Uint256(BigInteger.TEN.pow(19)),
+                new Uint256(BigInteger.TEN.pow(18).multiply(BigInteger.valueOf(7))),
+                new Uint256(1_700_000_000L),
+                new Uint256(1_710_000_000L),
+                new Address("0x5fbdb2315678afecb367f032d93f642f64180aa3"),
+                new Bool(true),
+                new Bool(false)));
+        getCampaignOutputs = FundraisingCampaign.getCampaignFunction(BigInteger.ZERO).getOutputParameters();
+    }
+
+    @Benchmark
+    public String encodeMakeDonationGeneric() {
+        return FunctionEncoder.encode(FundraisingCampaign.makeDonationFunction(campaignId));
+    }
+
+    @Benchmark
+    public String encodeMakeDonationCodec() {
+        return FundraisingCampaignCodec.encodeMakeDonation(campaignId);
+    }
+
+    @Benchmark
+    public String encodeGetCampaignGeneric() {
+        return FunctionEncoder.encode(FundraisingCampaign.getCampaignFunction(campaignId));
+    }
+
+    @Benchmark
+    public String encodeGetCampaignCodec() {
+        return FundraisingCampaignCodec.encodeGetCampaign(campaignId);
+    }
+
+    @Benchmark
+    public List<Type> decodeGetCampaignGeneric() {
+        return FunctionReturnDecoder.decode(getCampaignReturn, getCampaignOutputs);
+    }
+
+    @Benchmark
+    public FundraisingCampaignCodec.GetCampaignResult decodeGetCampaignCodec() {
+        return FundraisingCampaignCodec.decodeGetCampaign(getCampaignReturn);
+    }
+}
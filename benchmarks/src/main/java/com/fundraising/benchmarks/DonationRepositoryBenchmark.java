@@ -0,0 +1,125 @@
+package com.fundraising.benchmarks;
+
+import com.fundraising.domain.Donation;
+import com.fundraising.domain.DonorTotals;
+import com.fundraising.repository.DonationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DonationRepository} reads against a file-backed H2 database seeded with {@code rows}
+ * donations over 1,000 campaigns and 20,000 donors. The database is kept under
+ * {@code target/benchmark-db} and seeded only on the first run for a given size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DonationRepositoryBenchmark {
+    private static final int CAMPAIGNS = 1_000;
+    private static final int DONORS = 20_000;
+    private static final int SEED_CHUNK = 50_000;
+    private static final Pageable PAGE = PageRequest.of(0, 100);
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private DonationRepository donationRepository;
+
+    @Setup
+    public void setUp() {
+        String url = "jdbc:h2:file:" + Path.of("target", "benchmark-db", "donations-" + rows).toAbsolutePath();
+        context = BenchmarkApplication.start(url, Map.of());
+        if (seed(context.getBean(JdbcTemplate.class))) {
+            // Bulk inserts leave the append-only store several times its live size; compact before measuring
+            context.getBean(JdbcTemplate.class).execute("shutdown compact");
+            context.close();
+            context = BenchmarkApplication.start(url, Map.of());
+        }
+        donationRepository = context.getBean(DonationRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Donation> donorHistoryFirstPage() {
+        return donationRepository.findDonorHistory(randomDonor(), PAGE);
+    }
+
+    @Benchmark
+    public List<Donation> donorHistoryLaterPage() {
+        // Cursor in the middle of a donor's history (donations are spread evenly over the seeded timestamps)
+        return donationRepository.findDonorHistoryBefore(randomDonor(),
+                BigInteger.valueOf(1_700_000_000L + rows / 2), Long.MAX_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public DonorTotals donorTotals() {
+        return donationRepository.findDonorTotals(randomDonor());
+    }
+
+    @Benchmark
+    public BigInteger campaignConfirmedTotal() {
+        return donationRepository.sumConfirmedAmountByCampaignId(randomCampaign());
+    }
+
+    @Benchmark
+    public List<Donation> campaignDonationsPage() {
+        return donationRepository.findByCampaignIdAndIdGreaterThanOrderByIdAsc(randomCampaign(), 0L, PAGE);
+    }
+
+    private boolean seed(JdbcTemplate jdbc) {
+        Integer existing = jdbc.queryForObject("select count(*) from donations", Integer.class);
+        if (existing != null && existing >= rows) {
+            return false;
+        }
+        // Set-based inserts from SYSTEM_RANGE, committed per chunk so H2 does not keep one huge undo log
+        jdbc.update("insert into campaigns (title, description, target_amount, current_amount, start_date, end_date, " +
+                "contract_address, on_chain_id, active, status) " +
+                "select 'Campaign ' || x, 'Seeded campaign', 1000000000000000000000000, 0, 1700000000, 4000000000, " +
+                "?, x, true, 'ACTIVE' from system_range(1, ?)", BenchmarkApplication.CONTRACT, CAMPAIGNS);
+        for (long from = 1; from <= rows; from += SEED_CHUNK) {
+            jdbc.update("insert into donations (campaign_id, donor_address, amount, transaction_hash, status, timestamp) " +
+                    "select mod(x, ?) + 1, '0x' || lpad(cast(mod(x * 7919, ?) as varchar), 40, '0'), " +
+                    "10000000000000000 + x, '0x' || lpad(cast(x as varchar), 64, '0'), " +
+                    "case when mod(x, 10) = 0 then 'PENDING' else 'CONFIRMED' end, 1700000000 + x " +
+                    "from system_range(?, ?)", CAMPAIGNS, DONORS, from, Math.min(from + SEED_CHUNK - 1, rows));
+        }
+        return true;
+    }
+
+    private static String randomDonor() {
+        return String.format("0x%040d", ThreadLocalRandom.current().nextInt(DONORS));
+    }
+
+    private static long randomCampaign() {
+        return ThreadLocalRandom.current().nextInt(CAMPAIGNS) + 1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.fundraising.benchmarks;
+
+import com.fundraising.domain.Campaign;
+import com.fundraising.domain.Donation;
+import com.fundraising.repository.CampaignRepository;
+import com.fundraising.service.CampaignService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CampaignService#makeDonation} on an in-memory H2 database with the chain replaced by
+ * an in-process stand-in, so the score is the service and persistence cost of one donation:
+ * campaign lookup, insert and the SQL increment of the campaign total. {@code timedAspect=false}
+ * turns off the {@code @Timed} service timers, so the difference is their overhead.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DonationServiceBenchmark {
+    private static final int CAMPAIGNS = 100;
+    private static final BigInteger AMOUNT = BigInteger.TEN.pow(16);
+
+    @Param({"true", "false"})
+    public boolean timedAspect;
+
+    private ConfigurableApplicationContext context;
+    private CampaignService campaignService;
+    private List<Long> campaignIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("jdbc:h2:mem:donations;DB_CLOSE_DELAY=-1",
+                Map.of("donation.pipeline.enabled", "false", "metrics.timed-aspect.enabled", String.valueOf(timedAspect)));
+        campaignService = context.getBean(CampaignService.class);
+        CampaignRepository campaignRepository = context.getBean(CampaignRepository.class);
+        campaignIds = new ArrayList<>(CAMPAIGNS);
+        for (int i = 1; i <= CAMPAIGNS; i++) {
+            Campaign campaign = new Campaign();
+            campaign.setTitle("Campaign " + i);
+            campaign.setDescription("Benchmark campaign " + i);
+            campaign.setTargetAmount(BigInteger.TEN.pow(24));
+            campaign.setStartDate(BigInteger.valueOf(1_700_000_000L));
+            campaign.setEndDate(BigInteger.valueOf(4_000_000_000L));
+            campaign.setContractAddress(BenchmarkApplication.CONTRACT);
+            campaign.setOnChainId(BigInteger.valueOf(i));
+            campaign.setStatus("ACTIVE");
+            campaignIds.add(campaignRepository.save(campaign).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Donation makeDonation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return campaignService.makeDonation(campaignIds.get(random.nextInt(CAMPAIGNS)), donor(random), AMOUNT);
+    }
+
+    /** Every thread donating to one campaign: measures contention on its row. */
+    @Benchmark
+    @Threads(4)
+    public Donation makeDonationSingleCampaign() {
+        return campaignService.makeDonation(campaignIds.get(0), donor(ThreadLocalRandom.current()), AMOUNT);
+    }
+
+    private static String donor(ThreadLocalRandom random) {
+        return String.format("0x%040x", random.nextInt(10_000));
+    }
+}
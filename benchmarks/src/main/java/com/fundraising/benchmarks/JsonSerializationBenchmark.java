@@ -0,0 +1,96 @@
+package com.fundraising.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fundraising.domain.Campaign;
+import com.fundraising.domain.CampaignSummary;
+import com.fundraising.domain.Donation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of campaign and donation lists with the ObjectMapper defaults Spring MVC uses
+ * for the REST responses. Each donation embeds its campaign, as it does in the API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Campaign> campaigns;
+    private List<CampaignSummary> summaries;
+    private List<Donation> donations;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        campaigns = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        donations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Campaign campaign = new Campaign();
+            campaign.setId((long) i);
+            campaign.setTitle("Campaign " + i);
+            campaign.setDescription("Boreholes and filtration units for three schools in district " + i);
+            campaign.setTargetAmount(BigInteger.TEN.pow(21));
+            campaign.setCurrentAmount(BigInteger.TEN.pow(18).multiply(BigInteger.valueOf(i)));
+            campaign.setStartDate(BigInteger.valueOf(1_700_000_000L));
+            campaign.setEndDate(BigInteger.valueOf(1_710_000_000L));
+            campaign.setContractAddress(BenchmarkApplication.CONTRACT);
+            campaign.setOnChainId(BigInteger.valueOf(i));
+            campaign.setCreatorAddress(String.format("0x%040x", i));
+            campaign.setStatus("ACTIVE");
+            campaigns.add(campaign);
+            summaries.add(new CampaignSummary(campaign.getId(), campaign.getTitle(), campaign.getDescription(),
+                    campaign.getTargetAmount(), campaign.getCurrentAmount(), campaign.getStartDate(),
+                    campaign.getEndDate(), campaign.getContractAddress(), campaign.getOnChainId(),
+                    campaign.getCreatorAddress(), campaign.isActive(), campaign.getStatus(), i));
+
+            Donation donation = new Donation();
+            donation.setId((long) i);
+            donation.setCampaign(campaign);
+            donation.setDonorAddress(String.format("0x%040x", i * 31));
+            donation.setAmount(BigInteger.TEN.pow(16).add(BigInteger.valueOf(i)));
+            donation.setTransactionHash(String.format("0x%064x", i));
+            donation.setStatus("CONFIRMED");
+            donation.setTimestamp(BigInteger.valueOf(1_700_000_000L + i));
+            donations.add(donation);
+        }
+    }
+
+    @Benchmark
+    public byte[] campaigns() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(campaigns);
+    }
+
+    @Benchmark
+    public byte[] campaignSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] donations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(donations);
+    }
+}
@@ -0,0 +1,71 @@
+package com.fundraising.benchmarks;
+
+import com.fundraising.blockchain.BulkTransaction;
+import com.fundraising.blockchain.ParallelTransactionSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signed transactions per second for one bulk batch, by signing parallelism. Compare the scores
+ * against the machine's core count: throughput should grow until the pool exceeds it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+    private static final int BATCH_SIZE = 256;
+    private static final long CHAIN_ID = 1337;
+    private static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ParallelTransactionSigner signer;
+    private Credentials credentials;
+    private List<RawTransaction> transactions;
+
+    @Setup
+    public void setUp() {
+        signer = new ParallelTransactionSigner(parallelism);
+        credentials = Credentials.create("0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318");
+        transactions = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            BulkTransaction donation = BulkTransaction.makeDonation(CONTRACT, BigInteger.valueOf(i), BigInteger.TEN.pow(16));
+            transactions.add(RawTransaction.createTransaction(CHAIN_ID, BigInteger.valueOf(i), BigInteger.valueOf(90_000),
+                    donation.to(), donation.value(), donation.data(),
+                    BigInteger.valueOf(1_500_000_000L), BigInteger.valueOf(30_000_000_000L)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        signer.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> signBatch() {
+        return signer.signAll(transactions, credentials, CHAIN_ID);
+    }
+}
@@ -0,0 +1,497 @@
+package com.fundraising.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fundraising.contracts.FundraisingCampaign;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.ContractUtils;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.crypto.transaction.type.TransactionType;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process Ethereum node answering the JSON-RPC calls the application makes, single or batched,
+ * over the JDK HTTP server. Signed transactions are decoded, their sender recovered and their nonce
+ * checked; contract creations and {@link FundraisingCampaign} calls run against in-memory state and
+ * emit the contract's events into receipts and {@code eth_getLogs}. A block is mined every
+ * {@code blockTimeMillis}, or on every transaction when it is 0, and each HTTP exchange is delayed by
+ * {@code latencyMillis} to stand in for the network.
+ */
+public class ChainSimulator implements AutoCloseable {
+    private static final BigInteger BASE_FEE = BigInteger.valueOf(1_000_000_000L);
+    private static final BigInteger PRIORITY_FEE = BigInteger.valueOf(100_000_000L);
+    private static final String ZERO_ADDRESS = "0x" + "0".repeat(40);
+    private static final String EMPTY_BLOOM = "0x" + "0".repeat(512);
+
+    private static final String CREATE_CAMPAIGN = selector(FundraisingCampaign.createCampaignFunction("", "", BigInteger.ZERO, BigInteger.ZERO));
+    private static final String MAKE_DONATION = selector(FundraisingCampaign.makeDonationFunction(BigInteger.ZERO));
+    private static final String WITHDRAW_FUNDS = selector(FundraisingCampaign.withdrawFundsFunction(BigInteger.ZERO));
+    private static final String GET_CAMPAIGN = selector(FundraisingCampaign.getCampaignFunction(BigInteger.ZERO));
+
+    private static final String CAMPAIGN_CREATED = EventEncoder.encode(FundraisingCampaign.CAMPAIGNCREATED_EVENT);
+    private static final String DONATION_RECEIVED = EventEncoder.encode(FundraisingCampaign.DONATIONRECEIVED_EVENT);
+    private static final String FUNDS_WITHDRAWN = EventEncoder.encode(FundraisingCampaign.FUNDSWITHDRAWN_EVENT);
+
+    private static final List<TypeReference<Type>> CREATE_CAMPAIGN_INPUTS = Utils.convert(List.of(
+            new TypeReference<Utf8String>() {}, new TypeReference<Utf8String>() {},
+            new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}));
+    private static final List<TypeReference<Type>> CAMPAIGN_ID_INPUT = Utils.convert(List.of(new TypeReference<Uint256>() {}));
+
+    private final long chainId;
+    private final long blockTimeMillis;
+    private final long latencyMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService miner;
+
+    // Chain state, guarded by this
+    private long blockNumber;
+    private long minedTransactions;
+    private final List<PendingTransaction> pending = new ArrayList<>();
+    private final Map<String, TreeMap<BigInteger, PendingTransaction>> queued = new HashMap<>();
+    private final Map<String, BigInteger> nonces = new HashMap<>();
+    private final Map<String, ObjectNode> receipts = new HashMap<>();
+    private final List<LogEntry> logs = new ArrayList<>();
+    private final Map<String, Map<BigInteger, CampaignState>> contracts = new HashMap<>();
+
+    public ChainSimulator(long chainId, long blockTimeMillis, long latencyMillis, int threads) throws IOException {
+        this.chainId = chainId;
+        this.blockTimeMillis = blockTimeMillis;
+        this.latencyMillis = latencyMillis;
+        this.handlers = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(handlers);
+        server.start();
+        if (blockTimeMillis > 0) {
+            miner = Executors.newSingleThreadScheduledExecutor();
+            miner.scheduleAtFixedRate(this::mine, blockTimeMillis, blockTimeMillis, TimeUnit.MILLISECONDS);
+        } else {
+            miner = null;
+        }
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public synchronized long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public synchronized long getMinedTransactions() {
+        return minedTransactions;
+    }
+
+    @Override
+    public void close() {
+        if (miner != null) {
+            miner.shutdownNow();
+        }
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            byte[] response;
+            int status = 200;
+            try {
+                JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+                if (request.isArray()) {
+                    ArrayNode results = objectMapper.createArrayNode();
+                    request.forEach(call -> results.add(dispatch(call)));
+                    response = objectMapper.writeValueAsBytes(results);
+                } else {
+                    response = objectMapper.writeValueAsBytes(dispatch(request));
+                }
+            } catch (IOException e) {
+                status = 400;
+                response = objectMapper.writeValueAsBytes(error(NullNode.getInstance(), -32700, "Parse error"));
+            }
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private ObjectNode dispatch(JsonNode call) {
+        JsonNode id = call.path("id");
+        JsonNode params = call.path("params");
+        try {
+            JsonNode result = switch (call.path("method").asText()) {
+                case "eth_chainId" -> quantity(chainId);
+                case "net_version" -> TextNode.valueOf(Long.toString(chainId));
+                case "eth_blockNumber" -> quantity(getBlockNumber());
+                case "eth_gasPrice" -> quantity(BASE_FEE.add(PRIORITY_FEE));
+                case "eth_feeHistory" -> feeHistory(params);
+                case "eth_estimateGas" -> quantity(estimateGas(params.path(0)));
+                case "eth_getTransactionCount" -> quantity(nonce(params.path(0).asText()));
+                case "eth_sendRawTransaction" -> TextNode.valueOf(sendRawTransaction(params.path(0).asText()));
+                case "eth_getTransactionReceipt" -> receipt(params.path(0).asText());
+                case "eth_call" -> TextNode.valueOf(call(params.path(0)));
+                case "eth_getLogs" -> logs(params.path(0));
+                default -> throw new RpcException(-32601, "Method not found: " + call.path("method").asText());
+            };
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("jsonrpc", "2.0");
+            response.set("id", id);
+            response.set("result", result);
+            return response;
+        } catch (RpcException e) {
+            return error(id, e.code, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(id, -32603, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private ObjectNode error(JsonNode id, int code, String message) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", id);
+        ObjectNode error = response.putObject("error");
+        error.put("code", code);
+        error.put("message", message);
+        return response;
+    }
+
+    private JsonNode feeHistory(JsonNode params) {
+        long head = getBlockNumber();
+        int blocks = (int) Math.max(1, Math.min(parseQuantity(params.path(0)), head + 1));
+        ObjectNode history = objectMapper.createObjectNode();
+        history.put("oldestBlock", Numeric.encodeQuantity(BigInteger.valueOf(head - blocks + 1)));
+        ArrayNode baseFees = history.putArray("baseFeePerGas");
+        ArrayNode ratios = history.putArray("gasUsedRatio");
+        ArrayNode rewards = history.putArray("reward");
+        for (int i = 0; i < blocks; i++) {
+            baseFees.add(Numeric.encodeQuantity(BASE_FEE));
+            ratios.add(0.5);
+            ArrayNode reward = rewards.addArray();
+            params.path(2).forEach(percentile -> reward.add(Numeric.encodeQuantity(PRIORITY_FEE)));
+        }
+        baseFees.add(Numeric.encodeQuantity(BASE_FEE));
+        return history;
+    }
+
+    private static long estimateGas(JsonNode transaction) {
+        String data = transaction.path("data").asText(transaction.path("input").asText("0x"));
+        if (transaction.path("to").asText("").isEmpty()) {
+            return 1_500_000;
+        }
+        String selector = data.length() >= 10 ? data.substring(0, 10) : "";
+        if (selector.equals(CREATE_CAMPAIGN)) {
+            return 250_000;
+        }
+        return selector.equals(MAKE_DONATION) || selector.equals(WITHDRAW_FUNDS) ? 60_000 : 21_000;
+    }
+
+    private synchronized long nonce(String address) {
+        return nonces.getOrDefault(address.toLowerCase(), BigInteger.ZERO).longValueExact();
+    }
+
+    private String sendRawTransaction(String signedTransaction) {
+        RawTransaction decoded = TransactionDecoder.decode(signedTransaction);
+        if (!(decoded instanceof SignedRawTransaction signed)) {
+            throw new RpcException(-32000, "transaction is not signed");
+        }
+        String from;
+        try {
+            from = signed.getFrom().toLowerCase();
+        } catch (SignatureException e) {
+            throw new RpcException(-32000, "invalid sender");
+        }
+        PendingTransaction transaction = new PendingTransaction(Hash.sha3(signedTransaction), from, decoded);
+        synchronized (this) {
+            BigInteger expected = nonces.getOrDefault(from, BigInteger.ZERO);
+            int order = decoded.getNonce().compareTo(expected);
+            if (order < 0) {
+                throw new RpcException(-32000, "nonce too low");
+            }
+            if (order > 0) {
+                // Like a node's queued pool: held until the gap before it is filled
+                queued.computeIfAbsent(from, sender -> new TreeMap<>()).put(decoded.getNonce(), transaction);
+                return transaction.hash();
+            }
+            pending.add(transaction);
+            expected = expected.add(BigInteger.ONE);
+            TreeMap<BigInteger, PendingTransaction> waiting = queued.get(from);
+            while (waiting != null && waiting.containsKey(expected)) {
+                pending.add(waiting.remove(expected));
+                expected = expected.add(BigInteger.ONE);
+            }
+            nonces.put(from, expected);
+            if (blockTimeMillis == 0) {
+                mine();
+            }
+        }
+        return transaction.hash();
+    }
+
+    private synchronized JsonNode receipt(String transactionHash) {
+        ObjectNode receipt = receipts.get(transactionHash);
+        return receipt != null ? receipt : NullNode.getInstance();
+    }
+
+    private synchronized String call(JsonNode transaction) {
+        Map<BigInteger, CampaignState> campaigns = contracts.get(transaction.path("to").asText().toLowerCase());
+        String data = transaction.path("data").asText(transaction.path("input").asText("0x"));
+        if (campaigns == null) {
+            return "0x";
+        }
+        if (!data.startsWith(GET_CAMPAIGN)) {
+            throw new RpcException(3, "execution reverted");
+        }
+        BigInteger campaignId = (BigInteger) FunctionReturnDecoder.decode(data.substring(10), CAMPAIGN_ID_INPUT).get(0).getValue();
+        CampaignState campaign = campaigns.getOrDefault(campaignId, CampaignState.EMPTY);
+        return "0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Utf8String(campaign.title), new Utf8String(campaign.description),
+                new Uint256(campaign.targetAmount), new Uint256(campaign.currentAmount),
+                new Uint256(campaign.startDate), new Uint256(campaign.endDate),
+                new Address(campaign.creator), new Bool(campaign.active), new Bool(campaign.funded)));
+    }
+
+    private synchronized JsonNode logs(JsonNode filter) {
+        long fromBlock = blockParameter(filter.path("fromBlock"), 0);
+        long toBlock = blockParameter(filter.path("toBlock"), blockNumber);
+        List<String> addresses = textValues(filter.path("address"));
+        List<String> eventTopics = textValues(filter.path("topics").path(0));
+        ArrayNode matching = objectMapper.createArrayNode();
+        for (LogEntry log : logs) {
+            if (log.blockNumber() >= fromBlock && log.blockNumber() <= toBlock
+                    && (addresses.isEmpty() || addresses.contains(log.address()))
+                    && (eventTopics.isEmpty() || eventTopics.contains(log.topic()))) {
+                matching.add(log.json());
+            }
+        }
+        return matching;
+    }
+
+    private synchronized void mine() {
+        blockNumber++;
+        String blockHash = Hash.sha3String("block-" + blockNumber);
+        long timestamp = System.currentTimeMillis() / 1000;
+        for (int index = 0; index < pending.size(); index++) {
+            execute(pending.get(index), blockHash, index, timestamp);
+        }
+        minedTransactions += pending.size();
+        pending.clear();
+    }
+
+    private void execute(PendingTransaction transaction, String blockHash, int index, long timestamp) {
+        RawTransaction raw = transaction.transaction();
+        String to = raw.getTo() == null || raw.getTo().isEmpty() || raw.getTo().equals("0x") ? null : raw.getTo().toLowerCase();
+        String contractAddress = null;
+        List<Event> events = List.of();
+        long gasUsed;
+        if (to == null) {
+            contractAddress = ContractUtils.generateContractAddress(transaction.from(), raw.getNonce()).toLowerCase();
+            contracts.put(contractAddress, new HashMap<>());
+            gasUsed = 1_200_000;
+        } else {
+            Map<BigInteger, CampaignState> campaigns = contracts.get(to);
+            events = campaigns != null ? execute(campaigns, transaction.from(), raw.getData(), raw.getValue(), timestamp) : null;
+            gasUsed = 45_000;
+        }
+
+        ObjectNode receipt = objectMapper.createObjectNode();
+        receipt.put("transactionHash", transaction.hash());
+        receipt.put("transactionIndex", Numeric.encodeQuantity(BigInteger.valueOf(index)));
+        receipt.put("blockHash", blockHash);
+        receipt.put("blockNumber", Numeric.encodeQuantity(BigInteger.valueOf(blockNumber)));
+        receipt.put("from", transaction.from());
+        receipt.put("to", to);
+        receipt.put("contractAddress", contractAddress);
+        receipt.put("cumulativeGasUsed", Numeric.encodeQuantity(BigInteger.valueOf(gasUsed)));
+        receipt.put("gasUsed", Numeric.encodeQuantity(BigInteger.valueOf(gasUsed)));
+        receipt.put("effectiveGasPrice", Numeric.encodeQuantity(BASE_FEE.add(PRIORITY_FEE)));
+        receipt.put("logsBloom", EMPTY_BLOOM);
+        receipt.put("type", raw.getType() == TransactionType.EIP1559 ? "0x2" : "0x0");
+        receipt.put("status", events != null ? "0x1" : "0x0");
+        ArrayNode receiptLogs = receipt.putArray("logs");
+        if (events != null) {
+            for (Event event : events) {
+                ObjectNode log = objectMapper.createObjectNode();
+                log.put("removed", false);
+                log.put("logIndex", Numeric.encodeQuantity(BigInteger.valueOf(receiptLogs.size())));
+                log.put("transactionIndex", Numeric.encodeQuantity(BigInteger.valueOf(index)));
+                log.put("transactionHash", transaction.hash());
+                log.put("blockHash", blockHash);
+                log.put("blockNumber", Numeric.encodeQuantity(BigInteger.valueOf(blockNumber)));
+                log.put("address", to);
+                log.put("data", "0x" + FunctionEncoder.encodeConstructor(event.data()));
+                log.putArray("topics").add(event.topic()).add(Numeric.toHexStringWithPrefixZeroPadded(event.campaignId(), 64));
+                receiptLogs.add(log);
+                logs.add(new LogEntry(blockNumber, to, event.topic(), log));
+            }
+        }
+        receipts.put(transaction.hash(), receipt);
+    }
+
+    /** Runs a call against a contract's campaigns; {@code null} when the contract would revert. */
+    private static List<Event> execute(Map<BigInteger, CampaignState> campaigns, String sender, String data,
+                                       BigInteger value, long timestamp) {
+        if (data == null || data.length() < 10) {
+            return null;
+        }
+        String selector = Numeric.prependHexPrefix(data).substring(0, 10);
+        String arguments = Numeric.cleanHexPrefix(data).substring(8);
+        if (selector.equals(CREATE_CAMPAIGN)) {
+            List<Type> inputs = FunctionReturnDecoder.decode(arguments, CREATE_CAMPAIGN_INPUTS);
+            BigInteger targetAmount = (BigInteger) inputs.get(2).getValue();
+            BigInteger endDate = (BigInteger) inputs.get(3).getValue();
+            if (targetAmount.signum() <= 0 || endDate.longValue() <= timestamp) {
+                return null;
+            }
+            BigInteger campaignId = BigInteger.valueOf(campaigns.size() + 1);
+            CampaignState campaign = new CampaignState((String) inputs.get(0).getValue(), (String) inputs.get(1).getValue(),
+                    targetAmount, BigInteger.valueOf(timestamp), endDate, sender);
+            campaigns.put(campaignId, campaign);
+            return List.of(new Event(CAMPAIGN_CREATED, campaignId,
+                    List.of(new Utf8String(campaign.title), new Uint256(targetAmount), new Address(sender))));
+        }
+        if (!selector.equals(MAKE_DONATION) && !selector.equals(WITHDRAW_FUNDS)) {
+            return null;
+        }
+        BigInteger campaignId = (BigInteger) FunctionReturnDecoder.decode(arguments, CAMPAIGN_ID_INPUT).get(0).getValue();
+        CampaignState campaign = campaigns.get(campaignId);
+        if (campaign == null) {
+            return null;
+        }
+        if (selector.equals(MAKE_DONATION)) {
+            if (!campaign.active || timestamp > campaign.endDate.longValue() || value.signum() <= 0) {
+                return null;
+            }
+            campaign.currentAmount = campaign.currentAmount.add(value);
+            campaign.funded |= campaign.currentAmount.compareTo(campaign.targetAmount) >= 0;
+            return List.of(new Event(DONATION_RECEIVED, campaignId, List.of(new Address(sender), new Uint256(value))));
+        }
+        if (!sender.equals(campaign.creator) || campaign.currentAmount.signum() == 0
+                || (timestamp <= campaign.endDate.longValue() && !campaign.funded)) {
+            return null;
+        }
+        BigInteger amount = campaign.currentAmount;
+        campaign.currentAmount = BigInteger.ZERO;
+        campaign.active = false;
+        return List.of(new Event(FUNDS_WITHDRAWN, campaignId, List.of(new Address(campaign.creator), new Uint256(amount))));
+    }
+
+    private static String selector(Function function) {
+        return FunctionEncoder.encode(function).substring(0, 10);
+    }
+
+    private static TextNode quantity(long value) {
+        return TextNode.valueOf(Numeric.encodeQuantity(BigInteger.valueOf(value)));
+    }
+
+    private static TextNode quantity(BigInteger value) {
+        return TextNode.valueOf(Numeric.encodeQuantity(value));
+    }
+
+    private static long parseQuantity(JsonNode value) {
+        return value.isNumber() ? value.asLong() : Numeric.decodeQuantity(value.asText()).longValueExact();
+    }
+
+    private static long blockParameter(JsonNode value, long missing) {
+        if (value.isMissingNode() || value.isNull() || value.asText().equals("latest") || value.asText().equals("pending")) {
+            return missing;
+        }
+        return value.asText().equals("earliest") ? 0 : parseQuantity(value);
+    }
+
+    private static List<String> textValues(JsonNode value) {
+        List<String> values = new ArrayList<>();
+        if (value.isArray()) {
+            value.forEach(element -> values.add(element.asText().toLowerCase()));
+        } else if (value.isTextual()) {
+            values.add(value.asText().toLowerCase());
+        }
+        return values;
+    }
+
+    private record PendingTransaction(String hash, String from, RawTransaction transaction) {
+    }
+
+    private record Event(String topic, BigInteger campaignId, List<Type> data) {
+    }
+
+    private record LogEntry(long blockNumber, String address, String topic, ObjectNode json) {
+    }
+
+    private static class CampaignState {
+        static final CampaignState EMPTY = new CampaignState("", "", BigInteger.ZERO, BigInteger.ZERO, BigInteger.ZERO, ZERO_ADDRESS);
+
+        final String title;
+        final String description;
+        final BigInteger targetAmount;
+        final BigInteger startDate;
+        final BigInteger endDate;
+        final String creator;
+        BigInteger currentAmount = BigInteger.ZERO;
+        boolean active;
+        boolean funded;
+
+        CampaignState(String title, String description, BigInteger targetAmount, BigInteger startDate, BigInteger endDate, String creator) {
+            this.title = title;
+            this.description = description;
+            this.targetAmount = targetAmount;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.creator = creator;
+            this.active = !creator.equals(ZERO_ADDRESS);
+        }
+    }
+
+    private static class RpcException extends RuntimeException {
+        final int code;
+
+        RpcException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.fundraising.benchmarks.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load against the REST API: every worker sends its next request as soon as the
+ * previous one completes, picking a donation with probability {@code 100 - readPercent} and otherwise
+ * one of the GET endpoints. Only requests started after the warm-up are recorded.
+ */
+public class LoadDriver {
+    private static final String DONATION_AMOUNT = "1000000000000000";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI baseUri;
+    private final List<Long> campaignIds;
+    private final int readPercent;
+
+    public LoadDriver(URI baseUri, List<Long> campaignIds, int readPercent) {
+        this.baseUri = baseUri;
+        this.campaignIds = campaignIds;
+        this.readPercent = readPercent;
+    }
+
+    public Map<String, OperationStats> run(int concurrency, Duration warmup, Duration measurement) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + measurement.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<String, Samples>>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            results.add(workers.submit(() -> work(measureFrom, end)));
+        }
+        Map<String, Samples> merged = new TreeMap<>();
+        try {
+            for (Future<Map<String, Samples>> result : results) {
+                result.get().forEach((operation, samples) -> merged.merge(operation, samples, Samples::merge));
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        double seconds = measurement.toNanos() / 1e9;
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        Samples all = new Samples();
+        merged.forEach((operation, samples) -> {
+            stats.put(operation, samples.stats(operation, seconds));
+            all.merge(samples);
+        });
+        stats.put("all", all.stats("all", seconds));
+        return stats;
+    }
+
+    private Map<String, Samples> work(long measureFrom, long end) throws InterruptedException {
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            long started = System.nanoTime();
+            if (started >= end) {
+                return samples;
+            }
+            long campaignId = campaignIds.get(random.nextInt(campaignIds.size()));
+            String operation;
+            HttpRequest request;
+            if (random.nextInt(100) >= readPercent) {
+                operation = "POST /api/campaigns/{id}/donate";
+                String donor = String.format("0x%040x", random.nextInt(10_000));
+                request = HttpRequest.newBuilder(baseUri.resolve("/api/campaigns/" + campaignId + "/donate?donorAddress="
+                                + donor + "&amount=" + DONATION_AMOUNT))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            } else {
+                String[] read = switch (random.nextInt(4)) {
+                    case 0 -> new String[] {"GET /api/campaigns", "/api/campaigns"};
+                    case 1 -> new String[] {"GET /api/campaigns/{id}", "/api/campaigns/" + campaignId};
+                    case 2 -> new String[] {"GET /api/campaigns/{id}/donations", "/api/campaigns/" + campaignId + "/donations"};
+                    default -> new String[] {"GET /api/campaigns/onchain", "/api/campaigns/onchain?ids=" + campaignId};
+                };
+                operation = read[0];
+                request = HttpRequest.newBuilder(baseUri.resolve(read[1])).GET().build();
+            }
+
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom) {
+                samples.computeIfAbsent(operation, name -> new Samples()).record(finished - started, ok);
+            }
+        }
+    }
+
+    public record OperationStats(String operation, int count, int errors, double throughput,
+                                 double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    /** Latencies in nanoseconds, kept in full so percentiles are exact. */
+    private static class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long latency, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        Samples merge(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+            return this;
+        }
+
+        OperationStats stats(String operation, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new OperationStats(operation, count, errors, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.fundraising.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fundraising.BlockchainFundraisingApplication;
+import com.fundraising.contracts.FundraisingCampaign;
+import okhttp3.OkHttpClient;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.tx.RawTransactionManager;
+import org.web3j.tx.gas.DefaultGasProvider;
+import org.web3j.tx.response.PollingTransactionReceiptProcessor;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end load test that runs fully offline: starts a {@link ChainSimulator}, deploys the
+ * registry contract to it, boots the application on a random port against it and an in-memory
+ * database, creates campaigns through the API and then drives a {@link LoadDriver} mix of donations
+ * and reads. Options are {@code --name=value}; anything not listed in {@link #DEFAULTS} is passed
+ * to the application as a property, e.g. {@code --donation.pipeline.enabled=false}.
+ */
+public final class LoadTest {
+    private static final long CHAIN_ID = 1337;
+    private static final String PRIVATE_KEY = "0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318";
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "concurrency", "16",
+            "warmup", "10",
+            "duration", "30",
+            "campaigns", "20",
+            "read-percent", "50",
+            "block-time-ms", "1000",
+            "rpc-latency-ms", "5");
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        Map<String, String> overrides = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            (DEFAULTS.containsKey(name) ? options : overrides).put(name, arg.substring(separator + 1));
+        }
+
+        try (ChainSimulator chain = new ChainSimulator(CHAIN_ID, Long.parseLong(options.get("block-time-ms")),
+                Long.parseLong(options.get("rpc-latency-ms")), 64)) {
+            String registry = deployRegistry(chain.getUrl());
+            System.out.printf("Chain simulator at %s, registry %s%n", chain.getUrl(), registry);
+
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+            properties.put("spring.jpa.show-sql", "false");
+            properties.put("logging.level.root", "WARN");
+            properties.put("ethereum.node.url", chain.getUrl());
+            properties.put("ethereum.chain-id", String.valueOf(CHAIN_ID));
+            properties.put("ethereum.contract.address", registry);
+            properties.put("ethereum.deployer.enabled", "false");
+            properties.put("ethereum.deployer.private-key", PRIVATE_KEY);
+            properties.putAll(overrides);
+            // As command line arguments, so they take precedence over application.properties
+            String[] applicationArgs = properties.entrySet().stream()
+                    .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                    .toArray(String[]::new);
+            try (ConfigurableApplicationContext application = new SpringApplicationBuilder(BlockchainFundraisingApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run(applicationArgs)) {
+                URI baseUri = URI.create("http://127.0.0.1:" + application.getEnvironment().getProperty("local.server.port"));
+                List<Long> campaignIds = createCampaigns(baseUri, Integer.parseInt(options.get("campaigns")));
+
+                int concurrency = Integer.parseInt(options.get("concurrency"));
+                Duration measurement = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+                System.out.printf("Running %d workers against %s for %ss warm-up + %ss on %d campaigns (%s%% reads)%n",
+                        concurrency, baseUri, options.get("warmup"), options.get("duration"), campaignIds.size(), options.get("read-percent"));
+                LoadDriver driver = new LoadDriver(baseUri, campaignIds, Integer.parseInt(options.get("read-percent")));
+                long minedBefore = chain.getMinedTransactions();
+                long blockBefore = chain.getBlockNumber();
+                Map<String, LoadDriver.OperationStats> stats = driver.run(concurrency,
+                        Duration.ofSeconds(Long.parseLong(options.get("warmup"))), measurement);
+                long mined = chain.getMinedTransactions() - minedBefore;
+                long blocks = chain.getBlockNumber() - blockBefore;
+
+                System.out.println();
+                System.out.printf("%-36s %9s %7s %10s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+                for (LoadDriver.OperationStats operation : stats.values()) {
+                    System.out.printf("%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f%n", operation.operation(), operation.count(),
+                            operation.errors(), operation.throughput(), operation.p50Millis(), operation.p99Millis(), operation.maxMillis());
+                }
+                System.out.printf("%nChain: %d transactions mined in %d blocks during warm-up and measurement (%.1f tx/s)%n",
+                        mined, blocks, mined / (double) (measurement.toSeconds() + Long.parseLong(options.get("warmup"))));
+
+                // Let accepted donations reach a final state so shutdown does not cut off their receipts
+                JdbcTemplate jdbc = application.getBean(JdbcTemplate.class);
+                long drainUntil = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+                while (countDonations(jdbc, "PENDING") > 0 && System.nanoTime() < drainUntil) {
+                    Thread.sleep(200);
+                }
+                System.out.printf("Donations: %d confirmed, %d failed, %d still pending%n",
+                        countDonations(jdbc, "CONFIRMED"), countDonations(jdbc, "FAILED"), countDonations(jdbc, "PENDING"));
+            }
+        }
+    }
+
+    private static long countDonations(JdbcTemplate jdbc, String status) {
+        Long count = jdbc.queryForObject("select count(*) from donations where status = ?", Long.class, status);
+        return count != null ? count : 0;
+    }
+
+    private static String deployRegistry(String nodeUrl) throws Exception {
+        // An explicit client, so HttpService does not add its debug logging before Spring configures logging
+        Web3j web3j = Web3j.build(new HttpService(nodeUrl, new OkHttpClient()));
+        try {
+            RawTransactionManager transactionManager = new RawTransactionManager(web3j, Credentials.create(PRIVATE_KEY), CHAIN_ID,
+                    new PollingTransactionReceiptProcessor(web3j, 50, 1200));
+            return FundraisingCampaign.deploy(web3j, transactionManager, new DefaultGasProvider(),
+                    "Registry", "Load test registry", BigInteger.ONE, BigInteger.ZERO).send().getContractAddress();
+        } finally {
+            web3j.shutdown();
+        }
+    }
+
+    private static List<Long> createCampaigns(URI baseUri, int count) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        ObjectMapper objectMapper = new ObjectMapper();
+        long endDate = System.currentTimeMillis() / 1000 + 30L * 24 * 60 * 60;
+        // In parallel, so creation takes a few blocks rather than one block per campaign
+        ExecutorService creators = Executors.newFixedThreadPool(Math.min(count, 16));
+        try {
+            List<Future<Long>> created = new ArrayList<>();
+            for (int i = 1; i <= count; i++) {
+                URI uri = baseUri.resolve("/api/campaigns?title=Campaign+" + i + "&description=Load+test&targetAmount="
+                        + new BigInteger("1000000000000000000000000") + "&endDate=" + endDate);
+                created.add(creators.submit(() -> {
+                    HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    // Campaign creation is rate limited; wait out the limiter rather than fail the setup
+                    while (response.statusCode() == 429 || response.statusCode() == 503) {
+                        Thread.sleep(1000 * response.headers().firstValueAsLong("Retry-After").orElse(1));
+                        response = client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                                HttpResponse.BodyHandlers.ofString());
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Creating a campaign failed with " + response.statusCode() + ": " + response.body());
+                    }
+                    return objectMapper.readTree(response.body()).path("id").asLong();
+                }));
+            }
+            List<Long> campaignIds = new ArrayList<>();
+            for (Future<Long> campaignId : created) {
+                campaignIds.add(campaignId.get());
+            }
+            return campaignIds;
+        } finally {
+            creators.shutdownNow();
+        }
+    }
+}
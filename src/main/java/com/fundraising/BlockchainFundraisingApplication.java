@@ -2,8 +2,10 @@ package com.fundraising;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BlockchainFundraisingApplication {
     public static void main(String[] args) {
         SpringApplication.run(BlockchainFundraisingApplication.class, args);
@@ -0,0 +1,11 @@
+package com.fundraising.blockchain;
+
+import java.math.BigInteger;
+
+/** Outcome of one transaction in a bulk submission; {@code error} is null when the node accepted it. */
+public record BulkSubmission(BigInteger nonce, String transactionHash, String error) {
+
+    public boolean accepted() {
+        return error == null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fundraising.blockchain;
+
+import com.fundraising.contracts.FundraisingCampaign;
+import com.fundraising.contracts.FundraisingCampaignCodec;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Function;
+
+import java.math.BigInteger;
+
+/** One contract call in a bulk submission; {@code function} selects the cached gas limit. */
+public record BulkTransaction(String to, String function, String data, BigInteger value) {
+
+    public static BulkTransaction of(String to, Function function, BigInteger value) {
+        return new BulkTransaction(to, function.getName(), FunctionEncoder.encode(function), value);
+    }
+
+    public static BulkTransaction makeDonation(String contractAddress, BigInteger campaignId, BigInteger amount) {
+        return new BulkTransaction(contractAddress, FundraisingCampaign.FUNC_MAKEDONATION,
+                FundraisingCampaignCodec.encodeMakeDonation(campaignId), amount);
+    }
+
+    public static BulkTransaction withdrawFunds(String contractAddress, BigInteger campaignId) {
+        return new BulkTransaction(contractAddress, FundraisingCampaign.FUNC_WITHDRAWFUNDS,
+                FundraisingCampaignCodec.encodeWithdrawFunds(campaignId), BigInteger.ZERO);
+    }
+
+    public static BulkTransaction createCampaign(String contractAddress, String title, String description,
+                                                 BigInteger targetAmount, BigInteger endDate) {
+        return of(contractAddress,
+                FundraisingCampaign.createCampaignFunction(title, description, targetAmount, endDate), BigInteger.ZERO);
+    }
+}
@@ -0,0 +1,187 @@
+package com.fundraising.blockchain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Submission pipeline for bulk operations (payouts, backfills, mass campaign creation): reserves
+ * a run of nonces, signs every transaction on the {@link ParallelTransactionSigner} and sends the
+ * signed payloads in nonce order as batched {@code eth_sendRawTransaction} calls. Receipts are
+ * left to the caller, e.g. through {@link TransactionReceiptTracker#track(String)}. Callers hold
+ * a {@link ChainWriteBulkhead} permit per transaction until {@link #submit} returns.
+ */
+@Component
+public class BulkTransactionSubmitter {
+    private static final Logger log = LoggerFactory.getLogger(BulkTransactionSubmitter.class);
+
+    private final Web3j web3j;
+    private final Credentials credentials;
+    private final NonceManager nonceManager;
+    private final FeeHistoryGasProvider gasProvider;
+    private final ParallelTransactionSigner signer;
+    private final TransactionReceiptTracker receiptTracker;
+    private final int maxBatchSize;
+
+    @Autowired
+    public BulkTransactionSubmitter(Web3j web3j,
+                                    Credentials credentials,
+                                    NonceManager nonceManager,
+                                    FeeHistoryGasProvider gasProvider,
+                                    ParallelTransactionSigner signer,
+                                    TransactionReceiptTracker receiptTracker,
+                                    @Value("${ethereum.rpc.max-batch-size:100}") int maxBatchSize) {
+        this.web3j = web3j;
+        this.credentials = credentials;
+        this.nonceManager = nonceManager;
+        this.gasProvider = gasProvider;
+        this.signer = signer;
+        this.receiptTracker = receiptTracker;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns one result per transaction, in input order. A transaction whose gas estimate reverts
+     * is rejected on its own, without a nonce, and the rest are still sent.
+     */
+    public List<BulkSubmission> submit(List<BulkTransaction> transactions) throws IOException {
+        return submit(transactions, hashes -> { });
+    }
+
+    /**
+     * As {@link #submit(List)}, but first hands {@code beforeSend} each transaction's hash (null for
+     * those rejected at estimation) once everything is signed and before anything is sent, so the
+     * caller can record the hashes while the transactions cannot have been mined yet. If it throws,
+     * nothing is sent.
+     */
+    public List<BulkSubmission> submit(List<BulkTransaction> transactions, Consumer<List<String>> beforeSend)
+            throws IOException {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+        String from = credentials.getAddress();
+        BulkSubmission[] results = new BulkSubmission[transactions.size()];
+        List<Integer> sendable = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            BulkTransaction transaction = transactions.get(i);
+            try {
+                gasProvider.estimateGasLimit(transaction.function(), from, transaction.to(), transaction.data(), transaction.value());
+                sendable.add(i);
+            } catch (RuntimeException e) {
+                results[i] = new BulkSubmission(null, null, e.getMessage());
+            }
+        }
+        if (sendable.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        List<BigInteger> nonces = nonceManager.reserve(from, sendable.size());
+        List<String> signed;
+        try {
+            signed = sign(transactions, sendable, nonces);
+            String[] hashes = new String[transactions.size()];
+            for (int i = 0; i < signed.size(); i++) {
+                hashes[sendable.get(i)] = Hash.sha3(signed.get(i));
+            }
+            beforeSend.accept(Arrays.asList(hashes));
+        } catch (RuntimeException e) {
+            // Nothing reached the node: hand the whole run back so later transactions do not queue behind a gap
+            for (BigInteger nonce : nonces) {
+                nonceManager.release(from, nonce);
+            }
+            throw e;
+        }
+
+        BulkSubmission[] sent = new BulkSubmission[signed.size()];
+        for (int start = 0; start < signed.size(); start += maxBatchSize) {
+            int end = Math.min(start + maxBatchSize, signed.size());
+            try {
+                sendBatch(from, signed, nonces, start, end, sent);
+            } catch (IOException e) {
+                // The node may or may not have seen the batch: trust its pending count from here on
+                log.warn("Bulk submission failed after {} of {} transactions: {}", start, signed.size(), e.getMessage());
+                for (int i = start; i < signed.size(); i++) {
+                    sent[i] = new BulkSubmission(nonces.get(i), null, e.getMessage());
+                }
+                nonceManager.resync(from);
+                break;
+            }
+        }
+        for (int i = 0; i < sent.length; i++) {
+            results[sendable.get(i)] = sent[i];
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<String> sign(List<BulkTransaction> transactions, List<Integer> sendable, List<BigInteger> nonces) {
+        List<RawTransaction> unsigned = new ArrayList<>(sendable.size());
+        boolean eip1559 = gasProvider.isEIP1559Enabled();
+        long chainId = gasProvider.getChainId();
+        for (int i = 0; i < sendable.size(); i++) {
+            BulkTransaction transaction = transactions.get(sendable.get(i));
+            BigInteger gasLimit = gasProvider.getGasLimit(transaction.function());
+            unsigned.add(eip1559
+                    ? RawTransaction.createTransaction(chainId, nonces.get(i), gasLimit, transaction.to(),
+                            transaction.value(), transaction.data(),
+                            gasProvider.getMaxPriorityFeePerGas(transaction.function()),
+                            gasProvider.getMaxFeePerGas(transaction.function()))
+                    : RawTransaction.createTransaction(nonces.get(i), gasProvider.getGasPrice(transaction.function()),
+                            gasLimit, transaction.to(), transaction.value(), transaction.data()));
+        }
+        return signer.signAll(unsigned, credentials, chainId);
+    }
+
+    private void sendBatch(String from, List<String> signed, List<BigInteger> nonces, int start, int end,
+                           BulkSubmission[] results) throws IOException {
+        BatchRequest batch = web3j.newBatch();
+        Map<Long, Integer> indexById = new HashMap<>();
+        for (int i = start; i < end; i++) {
+            Request<?, EthSendTransaction> request = web3j.ethSendRawTransaction(signed.get(i));
+            indexById.put(request.getId(), i);
+            batch.add(request);
+        }
+        BatchResponse response = batch.send();
+        for (Response<?> item : response.getResponses()) {
+            Integer index = indexById.remove(item.getId());
+            if (index == null) {
+                continue;
+            }
+            BigInteger nonce = nonces.get(index);
+            if (item.hasError()) {
+                String error = item.getError().getMessage();
+                results[index] = new BulkSubmission(nonce, null, error);
+                nonceManager.onRejected(from, nonce, error);
+            } else {
+                String transactionHash = ((EthSendTransaction) item).getTransactionHash();
+                receiptTracker.submitted(transactionHash);
+                results[index] = new BulkSubmission(nonce, transactionHash, null);
+            }
+        }
+        if (!indexById.isEmpty()) {
+            for (int index : indexById.values()) {
+                results[index] = new BulkSubmission(nonces.get(index), null, "No response in batch");
+            }
+            nonceManager.resync(from);
+        }
+    }
+}
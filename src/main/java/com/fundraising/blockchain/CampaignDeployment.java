@@ -0,0 +1,10 @@
+package com.fundraising.blockchain;
+
+import java.math.BigInteger;
+
+/**
+ * Where a newly created campaign lives on chain. {@code onChainId} is null for legacy
+ * per-campaign contract deployments.
+ */
+public record CampaignDeployment(String contractAddress, BigInteger onChainId, String creatorAddress) {
+}
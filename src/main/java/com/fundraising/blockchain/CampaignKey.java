@@ -0,0 +1,14 @@
+package com.fundraising.blockchain;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * Identifies a campaign on chain: the contract holding it and its id in the campaigns mapping.
+ */
+public record CampaignKey(String contractAddress, BigInteger campaignId) {
+
+    public CampaignKey {
+        contractAddress = contractAddress.toLowerCase(Locale.ROOT);
+    }
+}
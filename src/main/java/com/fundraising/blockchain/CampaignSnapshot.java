@@ -0,0 +1,29 @@
+package com.fundraising.blockchain;
+
+import org.web3j.abi.datatypes.Type;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Typed view of the getCampaign tuple for one campaign.
+ */
+public record CampaignSnapshot(CampaignKey key,
+                               String title,
+                               String description,
+                               BigInteger targetAmount,
+                               BigInteger currentAmount,
+                               BigInteger startDate,
+                               BigInteger endDate) {
+
+    public static CampaignSnapshot of(CampaignKey key, List<Type> values) {
+        return new CampaignSnapshot(
+                key,
+                (String) values.get(0).getValue(),
+                (String) values.get(1).getValue(),
+                (BigInteger) values.get(2).getValue(),
+                (BigInteger) values.get(3).getValue(),
+                (BigInteger) values.get(4).getValue(),
+                (BigInteger) values.get(5).getValue());
+    }
+}
@@ -0,0 +1,64 @@
+package com.fundraising.blockchain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.web3j.abi.datatypes.Type;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of decoded getCampaign results. Entries are keyed by the block they were read
+ * at, so a new block makes every earlier entry unreachable; they are also dropped eagerly on
+ * {@link NewBlockEvent} and when the indexer sees the campaign's balance change.
+ */
+@Component
+public class CampaignStateCache {
+    private final Cache<Entry, List<Type>> cache;
+
+    @Autowired
+    public CampaignStateCache(@Value("${ethereum.campaign-cache.max-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "onChainCampaigns");
+    }
+
+    public List<Type> get(CampaignKey key, BigInteger blockNumber, Function<CampaignKey, List<Type>> loader) {
+        return cache.get(new Entry(key, blockNumber), entry -> List.copyOf(loader.apply(entry.campaign())));
+    }
+
+    public List<Type> getIfPresent(CampaignKey key, BigInteger blockNumber) {
+        return cache.getIfPresent(new Entry(key, blockNumber));
+    }
+
+    public void put(CampaignKey key, BigInteger blockNumber, List<Type> values) {
+        cache.put(new Entry(key, blockNumber), List.copyOf(values));
+    }
+
+    public void invalidate(CampaignKey key) {
+        cache.asMap().keySet().removeIf(entry -> entry.campaign().equals(key));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void onNewBlock(NewBlockEvent event) {
+        cache.asMap().keySet().removeIf(entry -> entry.blockNumber().compareTo(event.getBlockNumber()) < 0);
+    }
+
+    private record Entry(CampaignKey campaign, BigInteger blockNumber) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.fundraising.blockchain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the transactions being sent to the node at once, however many requests arrive. Callers
+ * queue in arrival order for at most {@code ethereum.writes.max-wait-ms} and are then turned away
+ * with {@link ChainWritesSaturatedException}, so a burst degrades into fast 503s instead of a slow
+ * node for everyone. A permit covers sending a transaction, not waiting for it to be mined.
+ */
+@Component
+public class ChainWriteBulkhead {
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final Duration retryAfter;
+    private final Counter rejected;
+
+    @Autowired
+    public ChainWriteBulkhead(@Value("${ethereum.writes.max-concurrent:32}") int maxConcurrent,
+                              @Value("${ethereum.writes.max-wait-ms:1000}") long maxWaitMillis,
+                              @Value("${ethereum.writes.retry-after-seconds:2}") long retryAfterSeconds,
+                              MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfter = Duration.ofSeconds(retryAfterSeconds);
+        Gauge.builder("ethereum.writes.in.flight", this, bulkhead -> bulkhead.maxConcurrent - bulkhead.permits.availablePermits())
+                .description("Transactions being sent to the node")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ethereum.writes.rejected")
+                .description("Transactions turned away because the write bulkhead was full")
+                .register(meterRegistry);
+    }
+
+    /** Waits for a write slot, which is held until the returned permit is closed. */
+    public Permit acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new ChainWritesSaturatedException(retryAfter);
+        }
+        return new Permit();
+    }
+
+    /** A write slot; closing it more than once releases it once. */
+    public final class Permit implements AutoCloseable {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
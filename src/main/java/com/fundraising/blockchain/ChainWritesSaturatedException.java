@@ -0,0 +1,33 @@
+package com.fundraising.blockchain;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Thrown by {@link ChainWriteBulkhead} when no write slot frees up in time; answered with 503 and a
+ * Retry-After header.
+ */
+public class ChainWritesSaturatedException extends ResponseStatusException {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public ChainWritesSaturatedException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too many transactions in flight to the Ethereum node");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getResponseHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return headers;
+    }
+}
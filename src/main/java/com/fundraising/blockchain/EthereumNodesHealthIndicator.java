@@ -0,0 +1,25 @@
+package com.fundraising.blockchain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component("ethereumNodes")
+public class EthereumNodesHealthIndicator extends AbstractHealthIndicator {
+    private final RoutingWeb3jService web3jService;
+
+    @Autowired
+    public EthereumNodesHealthIndicator(RoutingWeb3jService web3jService) {
+        this.web3jService = web3jService;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        List<RoutingWeb3jService.NodeStatus> nodes = web3jService.getNodeStatuses();
+        boolean anyHealthy = nodes.stream().anyMatch(RoutingWeb3jService.NodeStatus::healthy);
+        builder.status(anyHealthy ? "UP" : "DOWN").withDetail("nodes", nodes);
+    }
+}
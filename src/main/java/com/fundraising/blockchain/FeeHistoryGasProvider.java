@@ -0,0 +1,252 @@
+package com.fundraising.blockchain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthChainId;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.protocol.core.methods.response.EthFeeHistory;
+import org.web3j.tx.exceptions.ContractCallException;
+import org.web3j.tx.gas.ContractEIP1559GasProvider;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * EIP-1559 fees from an {@code eth_feeHistory} window, refreshed once per block on
+ * {@link NewBlockEvent} instead of once per transaction. The tip is the median of the chosen
+ * reward percentile over the window and the fee cap leaves room for two full base fee increases.
+ * Legacy transactions pay their whole gas price, so they are priced at the next base fee plus a
+ * small margin, plus the tip.
+ *
+ * <p>A negative configured chain id is replaced by the node's {@code eth_chainId}, asked on each
+ * refresh until it answers; 0 keeps transactions legacy and unprotected.
+ *
+ * <p>Gas limits are per function: the largest {@code eth_estimateGas} result seen for that
+ * function plus headroom. Callers record estimates through {@link #estimateGasLimit}, which only
+ * asks the node once per function and calldata length and raises estimates that revert.
+ */
+@Component
+public class FeeHistoryGasProvider implements ContractEIP1559GasProvider {
+    private static final Logger log = LoggerFactory.getLogger(FeeHistoryGasProvider.class);
+
+    private final Web3j web3j;
+    private final int blockCount;
+    private final double rewardPercentile;
+    private final BigInteger minPriorityFee;
+    private final BigInteger defaultGasPrice;
+    private final BigInteger defaultGasLimit;
+    private final int limitHeadroomPercent;
+    private final int legacyBaseFeeMarginPercent;
+
+    private final ConcurrentMap<String, BigInteger> estimates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, BigInteger> gasLimits = new ConcurrentHashMap<>();
+    private volatile Fees fees;
+    private volatile long chainId;
+
+    @Autowired
+    public FeeHistoryGasProvider(Web3j web3j,
+                                 @Value("${ethereum.chain-id:-1}") long chainId,
+                                 @Value("${ethereum.gas.fee-history-blocks:10}") int blockCount,
+                                 @Value("${ethereum.gas.priority-fee-percentile:50}") double rewardPercentile,
+                                 @Value("${ethereum.gas.min-priority-fee:1000000000}") BigInteger minPriorityFee,
+                                 @Value("${ethereum.gas.default-gas-price:20000000000}") BigInteger defaultGasPrice,
+                                 @Value("${ethereum.gas.default-gas-limit:6721975}") BigInteger defaultGasLimit,
+                                 @Value("${ethereum.gas.limit-headroom-percent:50}") int limitHeadroomPercent,
+                                 @Value("${ethereum.gas.legacy-base-fee-margin-percent:13}") int legacyBaseFeeMarginPercent) {
+        this.web3j = web3j;
+        this.chainId = chainId;
+        this.blockCount = blockCount;
+        this.rewardPercentile = rewardPercentile;
+        this.minPriorityFee = minPriorityFee;
+        this.defaultGasPrice = defaultGasPrice;
+        this.defaultGasLimit = defaultGasLimit;
+        this.limitHeadroomPercent = limitHeadroomPercent;
+        // One base fee increase is at most 12.5%; anything past a full doubling is the fee cap's job
+        this.legacyBaseFeeMarginPercent = Math.max(0, Math.min(100, legacyBaseFeeMarginPercent));
+    }
+
+    @EventListener
+    public void onNewBlock(NewBlockEvent event) {
+        refresh();
+    }
+
+    @Override
+    public boolean isEIP1559Enabled() {
+        // Without a chain id transactions are signed as legacy (pre-EIP-155) ones
+        return getChainId() > 0 && currentFees().baseFee() != null;
+    }
+
+    /** The configured chain id, else the one the node reported; negative while neither is known. */
+    @Override
+    public long getChainId() {
+        if (chainId < 0) {
+            currentFees();
+        }
+        return chainId;
+    }
+
+    @Override
+    public BigInteger getMaxFeePerGas(String contractFunc) {
+        return currentFees().maxFee();
+    }
+
+    @Override
+    public BigInteger getMaxPriorityFeePerGas(String contractFunc) {
+        return currentFees().priorityFee();
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return getGasPrice();
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return currentFees().gasPrice();
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return gasLimits.getOrDefault(contractFunc, defaultGasLimit);
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return defaultGasLimit;
+    }
+
+    /**
+     * Makes sure {@link #getGasLimit(String)} covers a call like this one. Storage costs grow with
+     * calldata size (campaign titles and descriptions), so estimates are cached per function and
+     * calldata length. A call that reverts is raised as a {@link ContractCallException}, since
+     * sending it would only burn gas; any other failed estimate leaves the current limit in place.
+     */
+    public void estimateGasLimit(String contractFunc, String from, String to, String data, BigInteger value) {
+        String key = contractFunc + ":" + data.length();
+        if (estimates.containsKey(key)) {
+            return;
+        }
+        try {
+            EthEstimateGas response = web3j.ethEstimateGas(
+                    Transaction.createFunctionCallTransaction(from, null, null, null, to, value, data)).send();
+            if (response.hasError()) {
+                if (isRevert(response.getError())) {
+                    throw new ContractCallException("Gas estimation for " + contractFunc + " reverted: "
+                            + response.getError().getMessage());
+                }
+                log.debug("eth_estimateGas for {} failed: {}", contractFunc, response.getError().getMessage());
+                return;
+            }
+            BigInteger estimate = response.getAmountUsed();
+            estimates.put(key, estimate);
+            BigInteger limit = estimate.multiply(BigInteger.valueOf(100L + limitHeadroomPercent)).divide(BigInteger.valueOf(100));
+            gasLimits.merge(contractFunc, limit, BigInteger::max);
+        } catch (IOException e) {
+            log.debug("eth_estimateGas for {} failed: {}", contractFunc, e.getMessage());
+        }
+    }
+
+    // Geth answers code 3 "execution reverted"; Ganache and Hardhat a -32000 "... revert ..." message
+    private static boolean isRevert(Response.Error error) {
+        String message = error.getMessage();
+        return error.getCode() == 3 || (message != null && message.toLowerCase(Locale.ROOT).contains("revert"));
+    }
+
+    private Fees currentFees() {
+        Fees current = fees;
+        if (current == null) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    private synchronized Fees refresh() {
+        if (chainId < 0) {
+            detectChainId();
+        }
+        Fees refreshed;
+        try {
+            refreshed = fromFeeHistory();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Fee refresh failed: {}", e.getMessage());
+            refreshed = null;
+        }
+        if (refreshed == null) {
+            // Keep the last good window rather than dropping back to defaults on a transient error
+            refreshed = fees != null ? fees : new Fees(null, minPriorityFee, defaultGasPrice, defaultGasPrice);
+        }
+        fees = refreshed;
+        return refreshed;
+    }
+
+    private Fees fromFeeHistory() throws IOException {
+        EthFeeHistory response = web3j.ethFeeHistory(
+                blockCount, DefaultBlockParameterName.LATEST, List.of(rewardPercentile)).send();
+        if (response.hasError() || response.getFeeHistory() == null) {
+            return legacyFees();
+        }
+        EthFeeHistory.FeeHistory history = response.getFeeHistory();
+        List<BigInteger> baseFees = history.getBaseFeePerGas();
+        if (baseFees == null || baseFees.isEmpty()) {
+            return legacyFees();
+        }
+        // The last entry is the base fee of the next block
+        BigInteger nextBaseFee = baseFees.get(baseFees.size() - 1);
+        BigInteger priorityFee = medianReward(history.getReward()).max(minPriorityFee);
+        BigInteger maxFee = nextBaseFee.shiftLeft(1).add(priorityFee);
+        BigInteger gasPrice = nextBaseFee.multiply(BigInteger.valueOf(100L + legacyBaseFeeMarginPercent))
+                .divide(BigInteger.valueOf(100)).add(priorityFee);
+        return new Fees(nextBaseFee, priorityFee, maxFee, gasPrice);
+    }
+
+    private void detectChainId() {
+        try {
+            EthChainId response = web3j.ethChainId().send();
+            if (!response.hasError() && response.getChainId() != null) {
+                chainId = response.getChainId().longValueExact();
+                log.info("Using chain id {} reported by the node", chainId);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("eth_chainId failed: {}", e.getMessage());
+        }
+    }
+
+    private Fees legacyFees() throws IOException {
+        BigInteger gasPrice = web3j.ethGasPrice().send().getGasPrice();
+        return new Fees(null, minPriorityFee, gasPrice, gasPrice);
+    }
+
+    private static BigInteger medianReward(List<List<BigInteger>> rewards) {
+        if (rewards == null) {
+            return BigInteger.ZERO;
+        }
+        List<BigInteger> values = new ArrayList<>(rewards.size());
+        for (List<BigInteger> blockRewards : rewards) {
+            if (!blockRewards.isEmpty()) {
+                values.add(blockRewards.get(0));
+            }
+        }
+        if (values.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    private record Fees(BigInteger baseFee, BigInteger priorityFee, BigInteger maxFee, BigInteger gasPrice) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.fundraising.blockchain;
+
+import java.math.BigInteger;
+
+/**
+ * Published by {@link TransactionReceiptTracker} whenever the chain head advances.
+ */
+public class NewBlockEvent {
+    private final BigInteger blockNumber;
+
+    public NewBlockEvent(BigInteger blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+
+    public BigInteger getBlockNumber() {
+        return blockNumber;
+    }
+}
@@ -0,0 +1,138 @@
+package com.fundraising.blockchain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out nonces per sender from memory so several transactions from the same
+ * signer can be in flight at once. Nonces that never reached the node are reused
+ * first to fill the gap; any nonce error from the node forces a resync from the
+ * pending transaction count.
+ */
+@Component
+public class NonceManager {
+    private static final Logger log = LoggerFactory.getLogger(NonceManager.class);
+
+    private final Web3j web3j;
+    private final ConcurrentMap<String, SenderNonces> senders = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NonceManager(Web3j web3j) {
+        this.web3j = web3j;
+    }
+
+    public BigInteger reserve(String address) throws IOException {
+        SenderNonces nonces = sender(address);
+        synchronized (nonces) {
+            if (nonces.next < 0) {
+                nonces.next = fetchPendingCount(address);
+            }
+            Long released = nonces.released.pollFirst();
+            if (released != null) {
+                return BigInteger.valueOf(released);
+            }
+            return BigInteger.valueOf(nonces.next++);
+        }
+    }
+
+    /**
+     * Reserves {@code count} nonces in ascending order under one lock, filling released gaps first,
+     * so a bulk submission gets a contiguous run that no concurrent sender can interleave with.
+     */
+    public List<BigInteger> reserve(String address, int count) throws IOException {
+        SenderNonces nonces = sender(address);
+        List<BigInteger> reserved = new ArrayList<>(count);
+        synchronized (nonces) {
+            if (nonces.next < 0) {
+                nonces.next = fetchPendingCount(address);
+            }
+            while (reserved.size() < count) {
+                Long released = nonces.released.pollFirst();
+                reserved.add(BigInteger.valueOf(released != null ? released : nonces.next++));
+            }
+        }
+        return reserved;
+    }
+
+    /**
+     * Returns a nonce whose transaction was never accepted by the node, so the next
+     * reservation fills the gap instead of leaving later transactions stuck.
+     */
+    public void release(String address, BigInteger nonce) {
+        SenderNonces nonces = sender(address);
+        synchronized (nonces) {
+            long value = nonce.longValueExact();
+            if (value < nonces.next) {
+                nonces.released.add(value);
+            }
+        }
+    }
+
+    /**
+     * Discards local state and starts again from the node's pending count. Used after
+     * nonce errors and when a submitted transaction was dropped from the pool. The count is
+     * read under the sender's lock, so no nonce handed out meanwhile is overwritten by a stale read.
+     */
+    public void resync(String address) throws IOException {
+        SenderNonces nonces = sender(address);
+        synchronized (nonces) {
+            long pending = fetchPendingCount(address);
+            if (nonces.next != pending) {
+                log.info("Resyncing nonce for {} from {} to {}", address, nonces.next, pending);
+            }
+            nonces.next = pending;
+            nonces.released.clear();
+        }
+    }
+
+    public void onRejected(String address, BigInteger nonce, String error) throws IOException {
+        if (isNonceError(error)) {
+            resync(address);
+        } else {
+            release(address, nonce);
+        }
+    }
+
+    private static boolean isNonceError(String error) {
+        if (error == null) {
+            return false;
+        }
+        String message = error.toLowerCase(Locale.ROOT);
+        return message.contains("nonce")
+                || message.contains("already known")
+                || message.contains("replacement transaction underpriced");
+    }
+
+    private long fetchPendingCount(String address) throws IOException {
+        EthGetTransactionCount count = web3j
+                .ethGetTransactionCount(address, DefaultBlockParameterName.PENDING)
+                .send();
+        if (count.hasError()) {
+            throw new IOException("eth_getTransactionCount failed: " + count.getError().getMessage());
+        }
+        return count.getTransactionCount().longValueExact();
+    }
+
+    private SenderNonces sender(String address) {
+        return senders.computeIfAbsent(address.toLowerCase(Locale.ROOT), key -> new SenderNonces());
+    }
+
+    private static final class SenderNonces {
+        private long next = -1;
+        private final TreeSet<Long> released = new TreeSet<>();
+    }
+}
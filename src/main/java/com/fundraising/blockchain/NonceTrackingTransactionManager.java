@@ -0,0 +1,92 @@
+package com.fundraising.blockchain;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.ChainIdLong;
+import org.web3j.tx.RawTransactionManager;
+import org.web3j.tx.response.TransactionReceiptProcessor;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * {@link RawTransactionManager} that takes its nonces from a shared {@link NonceManager}
+ * instead of asking the node before every send, and registers every accepted transaction with
+ * the {@link TransactionReceiptTracker} so its mining latency is measured from submission. Each
+ * transaction holds a {@link ChainWriteBulkhead} permit only while it is signed and sent, not while
+ * the receipt processor waits for it to be mined. Transactions are signed for the chain id the
+ * {@link FeeHistoryGasProvider} reports, which may only be known once the node answers.
+ */
+public class NonceTrackingTransactionManager extends RawTransactionManager {
+    private final Credentials credentials;
+    private final FeeHistoryGasProvider gasProvider;
+    private final NonceManager nonceManager;
+    private final TransactionReceiptTracker receiptTracker;
+    private final ChainWriteBulkhead writeBulkhead;
+
+    public NonceTrackingTransactionManager(Web3j web3j, Credentials credentials, FeeHistoryGasProvider gasProvider,
+                                           TransactionReceiptProcessor receiptProcessor,
+                                           NonceManager nonceManager, TransactionReceiptTracker receiptTracker,
+                                           ChainWriteBulkhead writeBulkhead) {
+        super(web3j, credentials, ChainIdLong.NONE, receiptProcessor);
+        this.credentials = credentials;
+        this.gasProvider = gasProvider;
+        this.nonceManager = nonceManager;
+        this.receiptTracker = receiptTracker;
+        this.writeBulkhead = writeBulkhead;
+    }
+
+    @Override
+    protected BigInteger getNonce() throws IOException {
+        return nonceManager.reserve(getFromAddress());
+    }
+
+    @Override
+    public String sign(RawTransaction rawTransaction) {
+        return ParallelTransactionSigner.sign(rawTransaction, credentials, gasProvider.getChainId());
+    }
+
+    @Override
+    public EthSendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
+        EthSendTransaction response;
+        try (ChainWriteBulkhead.Permit permit = writeBulkhead.acquire()) {
+            response = super.signAndSend(rawTransaction);
+        } catch (IOException e) {
+            // The node may have taken the transaction before the connection failed: ask it
+            // rather than hand the nonce out again
+            try {
+                nonceManager.resync(getFromAddress());
+            } catch (IOException resyncFailure) {
+                e.addSuppressed(resyncFailure);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            nonceManager.release(getFromAddress(), rawTransaction.getNonce());
+            throw e;
+        }
+        if (response.hasError()) {
+            nonceManager.onRejected(getFromAddress(), rawTransaction.getNonce(), response.getError().getMessage());
+        } else {
+            receiptTracker.submitted(response.getTransactionHash());
+        }
+        return response;
+    }
+
+    @Override
+    protected TransactionReceipt processResponse(EthSendTransaction transactionResponse)
+            throws IOException, TransactionException {
+        try {
+            return super.processResponse(transactionResponse);
+        } catch (TransactionException e) {
+            // No receipt after the polling window: the transaction was most likely dropped
+            if (e.getTransactionReceipt().isEmpty()) {
+                nonceManager.resync(getFromAddress());
+            }
+            throw e;
+        }
+    }
+}
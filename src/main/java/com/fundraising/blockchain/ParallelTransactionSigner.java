@@ -0,0 +1,61 @@
+package com.fundraising.blockchain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.utils.Numeric;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Signs batches of transactions across a dedicated fork-join pool. secp256k1 signing is pure CPU
+ * work, so it scales with cores once it is off the request thread. Results keep the input order.
+ */
+@Component
+public class ParallelTransactionSigner implements MeterBinder {
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public ParallelTransactionSigner(@Value("${ethereum.signing.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(pool, "transactionSigner", Tags.empty()).bindTo(registry);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /** Returns the hex-encoded signed payloads, index for index with {@code transactions}. */
+    public List<String> signAll(List<RawTransaction> transactions, Credentials credentials, long chainId) {
+        // A parallel stream started from inside the pool runs its tasks on that pool
+        return pool.submit(() -> transactions.parallelStream()
+                .map(transaction -> sign(transaction, credentials, chainId))
+                .toList()).join();
+    }
+
+    public static String sign(RawTransaction transaction, Credentials credentials, long chainId) {
+        // Same encoding choice as RawTransactionManager: EIP-155 only when a chain id is known
+        byte[] signed = chainId > 0
+                ? TransactionEncoder.signMessage(transaction, chainId, credentials)
+                : TransactionEncoder.signMessage(transaction, credentials);
+        return Numeric.toHexString(signed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
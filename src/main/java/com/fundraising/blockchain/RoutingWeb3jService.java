@@ -0,0 +1,412 @@
+package com.fundraising.blockchain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Flowable;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Web3jService} over several JSON-RPC endpoints sharing one tuned OkHttp client.
+ *
+ * <p>Reads go to the healthy node with the lowest smoothed latency. Calls that depend on a node's
+ * own transaction pool (sends and pending nonces) go to the primary: the first healthy node in
+ * configured order. A node is taken out of rotation after consecutive transport failures or when
+ * its head falls too far behind the others, and put back by the next successful health check.
+ * Failed calls are retried on the next candidate.
+ *
+ * <p>Reads pinned to a block number prefer nodes whose tracked head has reached that block, and a
+ * JSON-RPC error saying the node lacks the block or its state (a lagging node answering
+ * "header not found") is retried on the next candidate like a transport failure.
+ *
+ * <p>Every round trip is timed as {@code ethereum.rpc.requests} by method, node and outcome, and
+ * JSON-RPC error responses and transport failures are counted as {@code ethereum.rpc.errors} by
+ * method and error code.
+ */
+public class RoutingWeb3jService implements Web3jService {
+    private static final Logger log = LoggerFactory.getLogger(RoutingWeb3jService.class);
+
+    private static final Set<String> PRIMARY_METHODS =
+            Set.of("eth_sendRawTransaction", "eth_sendTransaction", "eth_getTransactionCount");
+    private static final Set<String> BLOCK_PINNED_LAST_PARAM = Set.of(
+            "eth_call", "eth_getBalance", "eth_getCode", "eth_getStorageAt", "eth_getTransactionCount");
+    private static final List<String> MISSING_STATE_ERRORS = List.of(
+            "header not found", "unknown block", "block not found", "missing trie node",
+            "historical state", "state not available");
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final List<Node> nodes;
+    private final long maxBlockLag;
+    private final int failureThreshold;
+    private final ScheduledExecutorService healthChecker;
+    private final MeterRegistry meterRegistry;
+    // Registered once per tag combination instead of looked up in the registry on every call
+    private final ConcurrentMap<CallKey, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ErrorKey, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+
+    public RoutingWeb3jService(List<String> urls, OkHttpClient httpClient,
+                               long healthCheckIntervalMillis, long maxBlockLag, int failureThreshold,
+                               MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one Ethereum node URL is required");
+        }
+        List<Node> configured = new ArrayList<>();
+        for (String url : urls) {
+            configured.add(new Node(url.trim(), new HttpService(url.trim(), httpClient)));
+        }
+        this.nodes = Collections.unmodifiableList(configured);
+        this.maxBlockLag = maxBlockLag;
+        this.failureThreshold = failureThreshold;
+        this.meterRegistry = meterRegistry;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rpc-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static OkHttpClient httpClient(int maxIdleConnections, long keepAliveMillis, int maxRequestsPerHost,
+                                          long connectTimeoutMillis, long readTimeoutMillis) {
+        Dispatcher dispatcher = new Dispatcher();
+        // OkHttp allows only 5 concurrent calls per host by default, which serializes async batches
+        dispatcher.setMaxRequests(Math.max(64, maxRequestsPerHost * 4));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    public List<NodeStatus> getNodeStatuses() {
+        List<NodeStatus> statuses = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            statuses.add(new NodeStatus(node.url, isHealthy(node), node.blockNumber,
+                    (long) node.latencyNanos / 1_000_000, node.consecutiveFailures.get()));
+        }
+        return statuses;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        Exception failure = null;
+        T missingState = null;
+        for (Node node : candidates(PRIMARY_METHODS.contains(request.getMethod()), pinnedBlock(request))) {
+            long start = System.nanoTime();
+            try {
+                T response = node.service.send(request, responseType);
+                long latencyNanos = System.nanoTime() - start;
+                recordSuccess(node, latencyNanos);
+                recordCall(node, request.getMethod(), false, response.hasError() ? "error" : "success", latencyNanos);
+                if (response.hasError()) {
+                    countError(request.getMethod(), String.valueOf(response.getError().getCode()));
+                    if (isMissingState(response.getError())) {
+                        log.debug("Ethereum node {} lacks state for {}: {}",
+                                node.url, request.getMethod(), response.getError().getMessage());
+                        missingState = response;
+                        continue;
+                    }
+                }
+                return response;
+            } catch (IOException | ClientConnectionException e) {
+                // HttpService reports non-2xx responses as ClientConnectionException
+                recordFailure(node, e);
+                recordCall(node, request.getMethod(), false, "failure", System.nanoTime() - start);
+                countError(request.getMethod(), "transport");
+                failure = e;
+            }
+        }
+        if (missingState != null) {
+            return missingState;
+        }
+        throw rethrow(failure);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return Async.run(() -> send(request, responseType));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        boolean primary = batchRequest.getRequests().stream()
+                .anyMatch(request -> PRIMARY_METHODS.contains(request.getMethod()));
+        Map<Long, String> methodById = new HashMap<>();
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            methodById.put(request.getId(), request.getMethod());
+        }
+        String method = methodById.values().stream().distinct().count() == 1
+                ? methodById.values().iterator().next()
+                : "mixed";
+        batchSizes.computeIfAbsent(method, key -> DistributionSummary.builder("ethereum.rpc.batch.size")
+                        .tag("method", key)
+                        .register(meterRegistry))
+                .record(batchRequest.getRequests().size());
+
+        long pinnedBlock = -1;
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            pinnedBlock = Math.max(pinnedBlock, pinnedBlock(request));
+        }
+
+        Exception failure = null;
+        BatchResponse missingState = null;
+        for (Node node : candidates(primary, pinnedBlock)) {
+            long start = System.nanoTime();
+            try {
+                BatchResponse response = node.service.sendBatch(batchRequest);
+                long latencyNanos = System.nanoTime() - start;
+                recordSuccess(node, latencyNanos);
+                boolean errors = false;
+                boolean stateMissing = false;
+                for (Response<?> result : response.getResponses()) {
+                    if (result.hasError()) {
+                        errors = true;
+                        stateMissing |= isMissingState(result.getError());
+                        countError(methodById.getOrDefault(result.getId(), method), String.valueOf(result.getError().getCode()));
+                    }
+                }
+                recordCall(node, method, true, errors ? "error" : "success", latencyNanos);
+                if (stateMissing) {
+                    log.debug("Ethereum node {} lacks state for part of a {} batch", node.url, method);
+                    missingState = response;
+                    continue;
+                }
+                return response;
+            } catch (IOException | ClientConnectionException e) {
+                recordFailure(node, e);
+                recordCall(node, method, true, "failure", System.nanoTime() - start);
+                countError(method, "transport");
+                failure = e;
+            }
+        }
+        if (missingState != null) {
+            return missingState;
+        }
+        throw rethrow(failure);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod,
+                                                             Class<T> responseType) {
+        throw new UnsupportedOperationException("Subscriptions are not supported over HTTP");
+    }
+
+    @Override
+    public void close() throws IOException {
+        healthChecker.shutdownNow();
+        for (Node node : nodes) {
+            node.service.close();
+        }
+    }
+
+    /**
+     * Healthy nodes first (configured order for the primary role, fastest first for reads), then
+     * the unhealthy ones in configured order as a last resort. For a read pinned to a block, nodes
+     * whose tracked head is known to be behind it go after the ones that have reached it.
+     */
+    private List<Node> candidates(boolean primary, long pinnedBlock) {
+        List<Node> healthy = new ArrayList<>(nodes.size());
+        List<Node> unhealthy = new ArrayList<>();
+        for (Node node : nodes) {
+            (isHealthy(node) ? healthy : unhealthy).add(node);
+        }
+        if (!primary) {
+            healthy.sort(Comparator.comparingDouble(node -> node.latencyNanos));
+        }
+        healthy.addAll(unhealthy);
+        if (pinnedBlock >= 0) {
+            healthy.sort(Comparator.comparing(node -> node.blockNumber >= 0 && node.blockNumber < pinnedBlock));
+        }
+        return healthy;
+    }
+
+    /**
+     * The block number a read is pinned to, or -1 for tags such as {@code latest} and for methods
+     * that do not take a block.
+     */
+    private static long pinnedBlock(Request<?, ?> request) {
+        List<?> params = request.getParams();
+        if (params == null || params.isEmpty()) {
+            return -1;
+        }
+        String method = request.getMethod();
+        if (BLOCK_PINNED_LAST_PARAM.contains(method)) {
+            return blockNumber(params.get(params.size() - 1));
+        }
+        if ("eth_getBlockByNumber".equals(method)) {
+            return blockNumber(params.get(0));
+        }
+        if ("eth_getLogs".equals(method) && params.get(0) instanceof EthFilter filter) {
+            return blockNumber(filter.getToBlock());
+        }
+        return -1;
+    }
+
+    private static long blockNumber(Object param) {
+        if (param instanceof DefaultBlockParameterNumber number) {
+            return number.getBlockNumber().longValue();
+        }
+        if (param instanceof String value && value.startsWith("0x") && value.length() <= 18) {
+            try {
+                return Numeric.decodeQuantity(value).longValue();
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isMissingState(Response.Error error) {
+        String message = error.getMessage();
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        return MISSING_STATE_ERRORS.stream().anyMatch(lower::contains);
+    }
+
+    private boolean isHealthy(Node node) {
+        return node.consecutiveFailures.get() < failureThreshold && !node.lagging;
+    }
+
+    private void recordSuccess(Node node, long latencyNanos) {
+        if (node.consecutiveFailures.getAndSet(0) >= failureThreshold) {
+            log.info("Ethereum node {} is reachable again", node.url);
+        }
+        double current = node.latencyNanos;
+        node.latencyNanos = current == 0 ? latencyNanos : current + LATENCY_SMOOTHING * (latencyNanos - current);
+    }
+
+    private void recordCall(Node node, String method, boolean batch, String outcome, long latencyNanos) {
+        requestTimers.computeIfAbsent(new CallKey(node.name, method, batch, outcome), key -> Timer.builder("ethereum.rpc.requests")
+                        .description("JSON-RPC round trips")
+                        .tags("method", key.method(), "batch", String.valueOf(key.batch()), "node", key.node(), "outcome", key.outcome())
+                        .register(meterRegistry))
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void countError(String method, String code) {
+        errorCounters.computeIfAbsent(new ErrorKey(method, code), key -> Counter.builder("ethereum.rpc.errors")
+                        .description("JSON-RPC error responses and transport failures")
+                        .tags("method", key.method(), "code", key.code())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private static IOException rethrow(Exception failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return (IOException) failure;
+    }
+
+    private void recordFailure(Node node, Exception e) {
+        if (node.consecutiveFailures.incrementAndGet() == failureThreshold) {
+            log.warn("Taking Ethereum node {} out of rotation: {}", node.url, e.getMessage());
+        } else {
+            log.debug("Call to Ethereum node {} failed: {}", node.url, e.getMessage());
+        }
+    }
+
+    private void checkHealth() {
+        long head = -1;
+        for (Node node : nodes) {
+            long start = System.nanoTime();
+            try {
+                EthBlockNumber response = new Request<>("eth_blockNumber", Collections.<String>emptyList(),
+                        node.service, EthBlockNumber.class).send();
+                if (response.hasError()) {
+                    recordFailure(node, new IOException(response.getError().getMessage()));
+                    continue;
+                }
+                recordSuccess(node, System.nanoTime() - start);
+                node.blockNumber = response.getBlockNumber().longValue();
+                head = Math.max(head, node.blockNumber);
+            } catch (IOException | ClientConnectionException e) {
+                recordFailure(node, e);
+            } catch (RuntimeException e) {
+                log.warn("Health check of Ethereum node {} failed", node.url, e);
+            }
+        }
+        for (Node node : nodes) {
+            boolean lagging = node.blockNumber >= 0 && head - node.blockNumber > maxBlockLag;
+            if (lagging != node.lagging) {
+                log.info("Ethereum node {} is {} (block {}, head {})",
+                        node.url, lagging ? "lagging" : "caught up", node.blockNumber, head);
+            }
+            node.lagging = lagging;
+        }
+    }
+
+    private record CallKey(String node, String method, boolean batch, String outcome) {
+    }
+
+    private record ErrorKey(String method, String code) {
+    }
+
+    public record NodeStatus(String url, boolean healthy, long blockNumber, long latencyMillis, int consecutiveFailures) {
+    }
+
+    private static final class Node {
+        private final String url;
+        private final String name;
+        private final HttpService service;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile double latencyNanos;
+        private volatile long blockNumber = -1;
+        private volatile boolean lagging;
+
+        private Node(String url, HttpService service) {
+            this.url = url;
+            // Host and port only: provider URLs often carry an API key in the path
+            HttpUrl parsed = HttpUrl.parse(url);
+            this.name = parsed != null ? parsed.host() + ":" + parsed.port() : url;
+            this.service = service;
+        }
+    }
+}
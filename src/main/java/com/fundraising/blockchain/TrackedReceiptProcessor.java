@@ -0,0 +1,37 @@
+package com.fundraising.blockchain;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.response.TransactionReceiptProcessor;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Waits on the shared {@link TransactionReceiptTracker} rather than polling per transaction.
+ */
+public class TrackedReceiptProcessor extends TransactionReceiptProcessor {
+    private final TransactionReceiptTracker receiptTracker;
+
+    public TrackedReceiptProcessor(Web3j web3j, TransactionReceiptTracker receiptTracker) {
+        super(web3j);
+        this.receiptTracker = receiptTracker;
+    }
+
+    @Override
+    public TransactionReceipt waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        try {
+            return receiptTracker.track(transactionHash).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException("Interrupted while waiting for receipt", transactionHash);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TransactionException) {
+                throw (TransactionException) e.getCause();
+            }
+            throw new TransactionException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.fundraising.blockchain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single poller for every in-flight transaction. When the head advances it asks the node for the
+ * receipts of everything outstanding in JSON-RPC batches and completes the matching futures, instead
+ * of each caller polling {@code eth_getTransactionReceipt} on its own thread. On ticks without a new
+ * block only the transactions handed over since the last sweep are checked: one may have been mined
+ * in the block that sweep saw, and on instant-seal chains no further block may come.
+ *
+ * <p>Publishes the number of transactions in flight, the time from submission to mining and the
+ * gas used, by receipt status.
+ */
+@Component
+public class TransactionReceiptTracker {
+    private static final Logger log = LoggerFactory.getLogger(TransactionReceiptTracker.class);
+
+    private final Web3j web3j;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long pollIntervalMillis;
+    private final long timeoutMillis;
+    private final int maxBatchSize;
+    private final Timer minedSuccess;
+    private final Timer minedReverted;
+    private final DistributionSummary gasUsedSuccess;
+    private final DistributionSummary gasUsedReverted;
+    private final Counter expiredCount;
+
+    private final ConcurrentMap<String, PendingReceipt> pending = new ConcurrentHashMap<>();
+    private final Set<String> sinceLastSweep = ConcurrentHashMap.newKeySet();
+    private final LongAdder confirmedCount = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final LongAccumulator maxLatencyMillis = new LongAccumulator(Long::max, 0);
+
+    private ScheduledExecutorService scheduler;
+    private volatile BigInteger latestBlock = BigInteger.valueOf(-1);
+    private BigInteger sweptBlock = BigInteger.valueOf(-1);
+
+    @Autowired
+    public TransactionReceiptTracker(Web3j web3j,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${ethereum.receipts.poll-interval-ms:1000}") long pollIntervalMillis,
+                                     @Value("${ethereum.receipts.timeout-ms:600000}") long timeoutMillis,
+                                     @Value("${ethereum.receipts.max-batch-size:100}") int maxBatchSize,
+                                     MeterRegistry meterRegistry) {
+        this.web3j = web3j;
+        this.eventPublisher = eventPublisher;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.maxBatchSize = maxBatchSize;
+        Gauge.builder("ethereum.transactions.pending", pending, Map::size)
+                .description("Transactions submitted and waiting for a receipt")
+                .register(meterRegistry);
+        Gauge.builder("ethereum.block.latest", this, tracker -> tracker.latestBlock.doubleValue())
+                .description("Latest block number seen by the receipt tracker")
+                .register(meterRegistry);
+        this.expiredCount = Counter.builder("ethereum.transactions.expired")
+                .description("Transactions given up on without a receipt")
+                .register(meterRegistry);
+        this.minedSuccess = minedTimer(meterRegistry, "success");
+        this.minedReverted = minedTimer(meterRegistry, "reverted");
+        this.gasUsedSuccess = gasUsedSummary(meterRegistry, "success");
+        this.gasUsedReverted = gasUsedSummary(meterRegistry, "reverted");
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "receipt-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        pending.values().forEach(receipt -> receipt.future.cancel(false));
+        pending.clear();
+        sinceLastSweep.clear();
+    }
+
+    /** Starts the latency clock for a transaction the node has just accepted. */
+    public void submitted(String transactionHash) {
+        register(transactionHash);
+    }
+
+    public CompletableFuture<TransactionReceipt> track(String transactionHash) {
+        return register(transactionHash).future;
+    }
+
+    private PendingReceipt register(String transactionHash) {
+        PendingReceipt tracked = pending.computeIfAbsent(transactionHash, hash -> new PendingReceipt(System.nanoTime()));
+        sinceLastSweep.add(transactionHash);
+        return tracked;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public BigInteger getLatestBlock() {
+        return latestBlock;
+    }
+
+    public long getConfirmedCount() {
+        return confirmedCount.sum();
+    }
+
+    public long getTotalLatencyMillis() {
+        return totalLatencyMillis.sum();
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    private void poll() {
+        try {
+            BigInteger blockNumber = web3j.ethBlockNumber().send().getBlockNumber();
+            if (blockNumber.compareTo(latestBlock) > 0) {
+                latestBlock = blockNumber;
+                eventPublisher.publishEvent(new NewBlockEvent(blockNumber));
+            }
+            if (blockNumber.compareTo(sweptBlock) > 0) {
+                List<String> hashes = new ArrayList<>(pending.keySet());
+                fetchReceipts(hashes);
+                // Marked only once checked, so a failed call is retried on the next tick
+                sinceLastSweep.removeAll(hashes);
+                sweptBlock = blockNumber;
+            } else if (!sinceLastSweep.isEmpty()) {
+                List<String> hashes = new ArrayList<>(sinceLastSweep);
+                fetchReceipts(hashes);
+                sinceLastSweep.removeAll(hashes);
+            }
+            expireStale();
+        } catch (Exception e) {
+            log.warn("Receipt polling failed", e);
+        }
+    }
+
+    private void fetchReceipts(List<String> hashes) throws Exception {
+        for (int from = 0; from < hashes.size(); from += maxBatchSize) {
+            List<String> chunk = hashes.subList(from, Math.min(from + maxBatchSize, hashes.size()));
+            BatchRequest batch = web3j.newBatch();
+            Map<Long, String> hashByRequestId = new HashMap<>();
+            for (String hash : chunk) {
+                Request<?, EthGetTransactionReceipt> request = web3j.ethGetTransactionReceipt(hash);
+                hashByRequestId.put(request.getId(), hash);
+                batch.add(request);
+            }
+
+            BatchResponse response = batch.send();
+            for (Response<?> result : response.getResponses()) {
+                String hash = hashByRequestId.get(result.getId());
+                if (hash == null || result.hasError()) {
+                    continue;
+                }
+                ((EthGetTransactionReceipt) result).getTransactionReceipt()
+                        .ifPresent(receipt -> complete(hash, receipt));
+            }
+        }
+    }
+
+    private void complete(String hash, TransactionReceipt receipt) {
+        PendingReceipt tracked = pending.remove(hash);
+        sinceLastSweep.remove(hash);
+        if (tracked == null) {
+            return;
+        }
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tracked.submittedAt);
+        confirmedCount.increment();
+        totalLatencyMillis.add(latencyMillis);
+        maxLatencyMillis.accumulate(latencyMillis);
+        boolean succeeded = receipt.isStatusOK();
+        (succeeded ? minedSuccess : minedReverted).record(System.nanoTime() - tracked.submittedAt, TimeUnit.NANOSECONDS);
+        if (receipt.getGasUsedRaw() != null) {
+            (succeeded ? gasUsedSuccess : gasUsedReverted).record(receipt.getGasUsed().doubleValue());
+        }
+        log.debug("Transaction {} mined in block {} after {} ms", hash, receipt.getBlockNumber(), latencyMillis);
+        tracked.future.complete(receipt);
+    }
+
+    private void expireStale() {
+        long now = System.nanoTime();
+        pending.forEach((hash, tracked) -> {
+            if (TimeUnit.NANOSECONDS.toMillis(now - tracked.submittedAt) > timeoutMillis
+                    && pending.remove(hash, tracked)) {
+                sinceLastSweep.remove(hash);
+                expiredCount.increment();
+                tracked.future.completeExceptionally(new TransactionException(
+                        "Transaction receipt was not generated after " + timeoutMillis + " ms", hash));
+            }
+        });
+    }
+
+    private static Timer minedTimer(MeterRegistry meterRegistry, String status) {
+        return Timer.builder("ethereum.transactions.mined")
+                .description("Time from submission until the receipt was seen")
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary gasUsedSummary(MeterRegistry meterRegistry, String status) {
+        return DistributionSummary.builder("ethereum.transactions.gas.used")
+                .baseUnit("gas")
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    private static final class PendingReceipt {
+        private final long submittedAt;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+
+        private PendingReceipt(long submittedAt) {
+            this.submittedAt = submittedAt;
+        }
+    }
+}
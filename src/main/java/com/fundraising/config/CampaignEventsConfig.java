@@ -0,0 +1,27 @@
+package com.fundraising.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class CampaignEventsConfig {
+
+    @Value("${campaign.events.pool-size:4}")
+    private int poolSize;
+
+    @Value("${campaign.events.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    @Bean
+    public ThreadPoolTaskExecutor campaignEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        // A subscriber has at most one drain queued, so the queue never fills below the subscriber limit
+        executor.setQueueCapacity(maxSubscribers);
+        executor.setThreadNamePrefix("campaign-events-");
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package com.fundraising.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class DonationPipelineConfig {
+
+    @Value("${donation.pipeline.pool-size:8}")
+    private int poolSize;
+
+    @Value("${donation.pipeline.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor donationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        // Bounded so a donation spike is rejected up front instead of piling up unsubmitted transactions
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("donation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
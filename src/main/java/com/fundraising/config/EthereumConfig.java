@@ -1,34 +1,84 @@
 package com.fundraising.config;
 
+import com.fundraising.blockchain.ChainWriteBulkhead;
+import com.fundraising.blockchain.FeeHistoryGasProvider;
+import com.fundraising.blockchain.NonceManager;
+import com.fundraising.blockchain.NonceTrackingTransactionManager;
+import com.fundraising.blockchain.RoutingWeb3jService;
+import com.fundraising.blockchain.TrackedReceiptProcessor;
+import com.fundraising.blockchain.TransactionReceiptTracker;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
-import org.web3j.protocol.http.HttpService;
-import org.web3j.tx.gas.ContractGasProvider;
-import org.web3j.tx.gas.StaticGasProvider;
-import java.math.BigInteger;
+import org.web3j.tx.TransactionManager;
+import java.util.List;
 
 @Configuration
 public class EthereumConfig {
 
-    @Value("${ethereum.node.url}")
-    private String ethereumNodeUrl;
+    // The first URL is the primary that transactions are sent through
+    @Value("${ethereum.node.urls:${ethereum.node.url}}")
+    private List<String> ethereumNodeUrls;
+
+    @Value("${ethereum.node.health-check-interval-ms:2000}")
+    private long healthCheckIntervalMillis;
+
+    @Value("${ethereum.node.max-block-lag:3}")
+    private long maxBlockLag;
+
+    @Value("${ethereum.node.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${ethereum.node.http.max-idle-connections:20}")
+    private int maxIdleConnections;
+
+    @Value("${ethereum.node.http.keep-alive-ms:300000}")
+    private long keepAliveMillis;
+
+    @Value("${ethereum.node.http.max-requests-per-host:32}")
+    private int maxRequestsPerHost;
+
+    @Value("${ethereum.node.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+
+    @Value("${ethereum.node.http.read-timeout-ms:30000}")
+    private long readTimeoutMillis;
 
     @Value("${ethereum.contract.address}")
     private String contractAddress;
 
+    @Value("${ethereum.deployer.private-key}")
+    private String privateKey;
+
+    @Bean(destroyMethod = "close")
+    public RoutingWeb3jService web3jService(MeterRegistry meterRegistry) {
+        return new RoutingWeb3jService(
+                ethereumNodeUrls,
+                RoutingWeb3jService.httpClient(maxIdleConnections, keepAliveMillis, maxRequestsPerHost,
+                        connectTimeoutMillis, readTimeoutMillis),
+                healthCheckIntervalMillis, maxBlockLag, failureThreshold, meterRegistry);
+    }
+
+    @Bean
+    public Web3j web3j(RoutingWeb3jService web3jService) {
+        return Web3j.build(web3jService);
+    }
+
     @Bean
-    public Web3j web3j() {
-        return Web3j.build(new HttpService(ethereumNodeUrl));
+    public Credentials credentials() {
+        return Credentials.create(privateKey);
     }
 
+    // Not named transactionManager: that name belongs to the JPA transaction manager
     @Bean
-    public ContractGasProvider gasProvider() {
-        return new StaticGasProvider(
-                BigInteger.valueOf(20000000000L), // Gas price
-                BigInteger.valueOf(6721975L)      // Gas limit
-        );
+    public TransactionManager web3jTransactionManager(Web3j web3j, Credentials credentials, FeeHistoryGasProvider gasProvider,
+                                                      NonceManager nonceManager, TransactionReceiptTracker receiptTracker,
+                                                      ChainWriteBulkhead writeBulkhead) {
+        return new NonceTrackingTransactionManager(web3j, credentials, gasProvider,
+                new TrackedReceiptProcessor(web3j, receiptTracker), nonceManager, receiptTracker, writeBulkhead);
     }
 
     @Bean
@@ -0,0 +1,66 @@
+package com.fundraising.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+/**
+ * Hibernate second-level cache regions as bounded Caffeine caches behind JCache. Every region is
+ * created here with its limits; Hibernate is configured to fail on any other.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    public static final String CAMPAIGN_REGION = "campaigns";
+    public static final String CAMPAIGN_QUERY_REGION = "campaign-queries";
+
+    @Value("${campaign.l2-cache.max-size:10000}")
+    private long campaignMaxSize;
+
+    @Value("${campaign.l2-cache.query-max-size:1000}")
+    private long queryMaxSize;
+
+    @Value("${campaign.l2-cache.ttl-ms:600000}")
+    private long ttlMillis;
+
+    // A manager of our own rather than the provider's shared one, so each application context has its own regions
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = new CacheManagerImpl(provider, provider.getDefaultURI(),
+                provider.getDefaultClassLoader(), new Properties());
+        cacheManager.createCache(CAMPAIGN_REGION, region(campaignMaxSize, ttlMillis));
+        cacheManager.createCache(CAMPAIGN_QUERY_REGION, region(queryMaxSize, ttlMillis));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaxSize, ttlMillis));
+        // Cached query results are checked against these per-table timestamps, so they must never be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, long ttlMillis) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofMillis(ttlMillis).toNanos()));
+        // Hibernate caches immutable disassembled state; copying it on every get and put would only cost
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.fundraising.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Records @Timed service methods; can be switched off to measure what the timers cost
+    @Bean
+    @ConditionalOnProperty(name = "metrics.timed-aspect.enabled", havingValue = "true", matchIfMissing = true)
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
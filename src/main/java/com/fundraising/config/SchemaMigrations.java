@@ -0,0 +1,141 @@
+package com.fundraising.config;
+
+import com.fundraising.domain.WeiAmountConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Data fixes that {@code ddl-auto=update} cannot express. Every step is idempotent and runs once per
+ * startup against whatever the existing database holds, before the JPA EntityManagerFactory (and so
+ * before the second-level cache, schedulers, indexer and web server) is created. Tables that do not
+ * exist yet are skipped: Hibernate creates them with the current mapping.
+ *
+ * <p>Columns are inspected through JDBC metadata. Changing a column type uses the SQL standard
+ * {@code ALTER COLUMN ... SET DATA TYPE}, which only H2 and PostgreSQL accept; on other databases
+ * that step is logged and left to a manual migration.
+ */
+@Component
+public class SchemaMigrations implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    private static final Set<String> ALTER_COLUMN_TYPE_DATABASES = Set.of("H2", "PostgreSQL");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SchemaMigrations(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Wei columns created before the explicit NUMERIC(78,0) mapping; existing values are rewritten in place
+        widenWeiColumn("campaigns", "target_amount");
+        widenWeiColumn("campaigns", "current_amount");
+        widenWeiColumn("donations", "amount");
+        widenWeiColumn("users", "balance");
+
+        // Rows written before addresses were normalized on write
+        normalizeAddresses("donations", "donor_address");
+        normalizeAddresses("campaigns", "creator_address");
+        normalizeContractAddresses();
+    }
+
+    private void widenWeiColumn(String table, String column) {
+        ColumnType current = columnType(table, column);
+        if (current == null
+                || (current.precision() == WeiAmountConverter.PRECISION && current.scale() == 0)) {
+            return;
+        }
+        if (!ALTER_COLUMN_TYPE_DATABASES.contains(current.database())) {
+            log.warn("{}.{} is not numeric({},0); widen it manually on {}",
+                    table, column, WeiAmountConverter.PRECISION, current.database());
+            return;
+        }
+        jdbcTemplate.execute("alter table " + table + " alter column " + column +
+                " set data type numeric(" + WeiAmountConverter.PRECISION + ",0)");
+        log.info("Migrated {}.{} to numeric({},0)", table, column, WeiAmountConverter.PRECISION);
+    }
+
+    private void normalizeAddresses(String table, String column) {
+        if (columnType(table, column) == null) {
+            return;
+        }
+        int updated = jdbcTemplate.update(
+                "update " + table + " set " + column + " = lower(trim(" + column + ")) " +
+                "where " + column + " <> lower(trim(" + column + "))");
+        if (updated > 0) {
+            log.info("Normalized {} {}.{} values", updated, table, column);
+        }
+    }
+
+    /**
+     * Lowercases campaign contract addresses. A row whose lowercase spelling is already taken for the
+     * same on-chain id (a duplicate the indexer inserted next to a checksummed row) would break the
+     * unique key, so it is left as is and reported for manual merging.
+     */
+    private void normalizeContractAddresses() {
+        if (columnType("campaigns", "contract_address") == null) {
+            return;
+        }
+        int updated = jdbcTemplate.update(
+                "update campaigns c set contract_address = lower(trim(c.contract_address)) " +
+                "where c.contract_address <> lower(trim(c.contract_address)) and not exists (" +
+                "select 1 from campaigns o where o.id <> c.id and o.on_chain_id = c.on_chain_id " +
+                "and o.contract_address = lower(trim(c.contract_address)))");
+        if (updated > 0) {
+            log.info("Normalized {} campaigns.contract_address values", updated);
+        }
+        Integer duplicates = jdbcTemplate.queryForObject(
+                "select count(*) from campaigns where contract_address <> lower(trim(contract_address))", Integer.class);
+        if (duplicates != null && duplicates > 0) {
+            log.warn("{} campaigns duplicate another campaign's contract address and on-chain id in a different case; "
+                    + "merge them manually", duplicates);
+        }
+    }
+
+    /** The column's precision and scale in the current schema, or null if it does not exist. */
+    private ColumnType columnType(String table, String column) {
+        return jdbcTemplate.execute((ConnectionCallback<ColumnType>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table), identifier(metaData, column))) {
+                if (!columns.next()) {
+                    return null;
+                }
+                return new ColumnType(metaData.getDatabaseProductName(),
+                        columns.getInt("COLUMN_SIZE"), columns.getInt("DECIMAL_DIGITS"));
+            }
+        });
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+    }
+
+    private record ColumnType(String database, int precision, int scale) {
+    }
+
+    /** Makes the EntityManagerFactory wait for the migrations above. */
+    @Component
+    static class EntityManagerFactoryDependsOnSchemaMigrations extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnSchemaMigrations() {
+            super(SchemaMigrations.class);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fundraising.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.dialect.IDialect;
+import org.thymeleaf.linkbuilder.StandardLinkBuilder;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+
+import java.util.Map;
+
+@Configuration
+public class ThymeleafConfig {
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Value("${web.page-cache.render-threads:2}")
+    private int renderThreads;
+
+    @Value("${web.page-cache.max-size:1000}")
+    private int maxPages;
+
+    // Boot's engine, plus links that resolve without a request so cached pages can be rendered in the background
+    @Bean
+    public SpringTemplateEngine templateEngine(ThymeleafProperties properties,
+                                               ObjectProvider<ITemplateResolver> templateResolvers,
+                                               ObjectProvider<IDialect> dialects) {
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setEnableSpringELCompiler(properties.isEnableSpringElCompiler());
+        engine.setRenderHiddenMarkersBeforeCheckboxes(properties.isRenderHiddenMarkersBeforeCheckboxes());
+        templateResolvers.orderedStream().forEach(engine::addTemplateResolver);
+        dialects.orderedStream().forEach(engine::addDialect);
+        engine.setLinkBuilder(new ContextPathLinkBuilder(contextPath));
+        return engine;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor pageRenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderThreads);
+        executor.setMaxPoolSize(renderThreads);
+        // A page has at most one render queued, so the queue never fills below the page limit
+        executor.setQueueCapacity(maxPages);
+        executor.setThreadNamePrefix("page-render-");
+        return executor;
+    }
+
+    private static class ContextPathLinkBuilder extends StandardLinkBuilder {
+        private final String contextPath;
+
+        ContextPathLinkBuilder(String contextPath) {
+            this.contextPath = contextPath;
+        }
+
+        @Override
+        protected String computeContextPath(IExpressionContext context, String base, Map<String, Object> parameters) {
+            return context instanceof IWebContext ? super.computeContextPath(context, base, parameters) : contextPath;
+        }
+    }
+}
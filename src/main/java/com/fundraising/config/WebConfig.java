@@ -0,0 +1,28 @@
+package com.fundraising.config;
+
+import com.fundraising.controller.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Autowired
+    public WebConfig(RateLimitInterceptor rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/campaigns", "/api/campaigns/*/donate");
+        }
+    }
+}
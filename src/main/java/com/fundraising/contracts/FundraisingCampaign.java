@@ -3,6 +3,7 @@ package com.fundraising.contracts;
 import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.Type;
 import org.web3j.abi.datatypes.Utf8String;
@@ -12,12 +13,14 @@ import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.RemoteCall;
 import org.web3j.protocol.core.RemoteFunctionCall;
+import org.web3j.protocol.core.methods.response.BaseEventResponse;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.tx.Contract;
 import org.web3j.tx.TransactionManager;
 import org.web3j.tx.gas.ContractGasProvider;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +33,15 @@ public class FundraisingCampaign extends Contract {
     public static final String FUNC_WITHDRAWFUNDS = "withdrawFunds";
     public static final String FUNC_GETCAMPAIGN = "getCampaign";
 
+    public static final Event CAMPAIGNCREATED_EVENT = new Event("CampaignCreated",
+            Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>(true) {}, new TypeReference<Utf8String>() {}, new TypeReference<Uint256>() {}, new TypeReference<Address>() {}));
+
+    public static final Event DONATIONRECEIVED_EVENT = new Event("DonationReceived",
+            Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>(true) {}, new TypeReference<Address>() {}, new TypeReference<Uint256>() {}));
+
+    public static final Event FUNDSWITHDRAWN_EVENT = new Event("FundsWithdrawn",
+            Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>(true) {}, new TypeReference<Address>() {}, new TypeReference<Uint256>() {}));
+
     @Deprecated
     protected FundraisingCampaign(String contractAddress, Web3j web3j, Credentials credentials, BigInteger gasPrice, BigInteger gasLimit) {
         super(BINARY, contractAddress, web3j, credentials, gasPrice, gasLimit);
@@ -48,6 +60,11 @@ public class FundraisingCampaign extends Contract {
         return deployRemoteCall(FundraisingCampaign.class, web3j, credentials, contractGasProvider, BINARY, encodedConstructor);
     }
 
+    public static RemoteCall<FundraisingCampaign> deploy(Web3j web3j, TransactionManager transactionManager, ContractGasProvider contractGasProvider, String title, String description, BigInteger targetAmount, BigInteger endDate) {
+        String encodedConstructor = FunctionEncoder.encodeConstructor(Arrays.asList(new Utf8String(title), new Utf8String(description), new Uint256(targetAmount), new Uint256(endDate)));
+        return deployRemoteCall(FundraisingCampaign.class, web3j, transactionManager, contractGasProvider, BINARY, encodedConstructor);
+    }
+
     public static FundraisingCampaign load(String contractAddress, Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
         return new FundraisingCampaign(contractAddress, web3j, credentials, contractGasProvider);
     }
@@ -57,30 +74,71 @@ public class FundraisingCampaign extends Contract {
     }
 
     public RemoteCall<TransactionReceipt> createCampaign(String title, String description, BigInteger targetAmount, BigInteger endDate) {
-        final Function function = new Function(FUNC_CREATECAMPAIGN,
+        final Function function = createCampaignFunction(title, description, targetAmount, endDate);
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteCall<TransactionReceipt> makeDonation(BigInteger campaignId, BigInteger weiValue) {
+        final Function function = makeDonationFunction(campaignId);
+        return executeRemoteCallTransaction(function, weiValue);
+    }
+
+    public RemoteCall<TransactionReceipt> withdrawFunds(BigInteger campaignId) {
+        final Function function = withdrawFundsFunction(campaignId);
+        return executeRemoteCallTransaction(function);
+    }
+
+    public static Function createCampaignFunction(String title, String description, BigInteger targetAmount, BigInteger endDate) {
+        return new Function(FUNC_CREATECAMPAIGN,
                 Arrays.asList(new Utf8String(title), new Utf8String(description), new Uint256(targetAmount), new Uint256(endDate)),
                 Collections.emptyList());
-        return executeRemoteCallTransaction(function);
     }
 
-    public RemoteCall<TransactionReceipt> makeDonation(BigInteger campaignId, BigInteger amount) {
-        final Function function = new Function(FUNC_MAKEDONATION,
-                Arrays.asList(new Uint256(campaignId), new Uint256(amount)),
+    public static Function makeDonationFunction(BigInteger campaignId) {
+        return new Function(FUNC_MAKEDONATION,
+                Arrays.asList(new Uint256(campaignId)),
                 Collections.emptyList());
-        return executeRemoteCallTransaction(function);
     }
 
-    public RemoteCall<TransactionReceipt> withdrawFunds(BigInteger campaignId) {
-        final Function function = new Function(FUNC_WITHDRAWFUNDS,
+    public static Function withdrawFundsFunction(BigInteger campaignId) {
+        return new Function(FUNC_WITHDRAWFUNDS,
                 Arrays.asList(new Uint256(campaignId)),
                 Collections.emptyList());
-        return executeRemoteCallTransaction(function);
     }
 
     public RemoteFunctionCall<List<Type>> getCampaign(BigInteger campaignId) {
-        final Function function = new Function(FUNC_GETCAMPAIGN,
+        final Function function = getCampaignFunction(campaignId);
+        return new RemoteFunctionCall<>(function, () -> executeCallMultipleValueReturn(function));
+    }
+
+    public static Function getCampaignFunction(BigInteger campaignId) {
+        return new Function(FUNC_GETCAMPAIGN,
                 Arrays.asList(new Uint256(campaignId)),
                 Arrays.asList(new TypeReference<Utf8String>() {}, new TypeReference<Utf8String>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}));
-        return new RemoteFunctionCall<>(function, () -> executeCallMultipleValueReturn(function));
     }
-} 
\ No newline at end of file
+
+    public static List<CampaignCreatedEventResponse> getCampaignCreatedEvents(TransactionReceipt transactionReceipt) {
+        List<Contract.EventValuesWithLog> valueList = staticExtractEventParametersWithLog(CAMPAIGNCREATED_EVENT, transactionReceipt);
+        ArrayList<CampaignCreatedEventResponse> responses = new ArrayList<CampaignCreatedEventResponse>(valueList.size());
+        for (Contract.EventValuesWithLog eventValues : valueList) {
+            CampaignCreatedEventResponse typedResponse = new CampaignCreatedEventResponse();
+            typedResponse.log = eventValues.getLog();
+            typedResponse.campaignId = (BigInteger) eventValues.getIndexedValues().get(0).getValue();
+            typedResponse.title = (String) eventValues.getNonIndexedValues().get(0).getValue();
+            typedResponse.targetAmount = (BigInteger) eventValues.getNonIndexedValues().get(1).getValue();
+            typedResponse.creator = (String) eventValues.getNonIndexedValues().get(2).getValue();
+            responses.add(typedResponse);
+        }
+        return responses;
+    }
+
+    public static class CampaignCreatedEventResponse extends BaseEventResponse {
+        public BigInteger campaignId;
+
+        public String title;
+
+        public BigInteger targetAmount;
+
+        public String creator;
+    }
+}
@@ -0,0 +1,203 @@
+package com.fundraising.contracts;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Allocation-light calldata encoders and return decoders for {@link FundraisingCampaign}.
+ * Encoders return the same hex as {@code FunctionEncoder}; decoders return {@code null} for empty
+ * return data, like {@code FunctionReturnDecoder} returns an empty list.
+ *
+ * <p>Generated by {@code ContractGenerator --codec}; do not edit.
+ */
+public final class FundraisingCampaignCodec {
+    /** {@code makeDonation(uint256)} */
+    public static final int MAKE_DONATION_SELECTOR = 0xb219f916;
+    /** {@code withdrawFunds(uint256)} */
+    public static final int WITHDRAW_FUNDS_SELECTOR = 0x155dd5ee;
+    /** {@code getCampaign(uint256)} */
+    public static final int GET_CAMPAIGN_SELECTOR = 0x5598f8cc;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int MAX_CALLDATA_LENGTH = 36;
+    private static final ThreadLocal<char[]> HEX =
+            ThreadLocal.withInitial(() -> new char[2 + 2 * MAX_CALLDATA_LENGTH]);
+    private static final ThreadLocal<byte[]> MAKE_DONATION_CALLDATA =
+            ThreadLocal.withInitial(() -> calldata(MAKE_DONATION_SELECTOR, 1));
+    private static final ThreadLocal<byte[]> WITHDRAW_FUNDS_CALLDATA =
+            ThreadLocal.withInitial(() -> calldata(WITHDRAW_FUNDS_SELECTOR, 1));
+    private static final ThreadLocal<byte[]> GET_CAMPAIGN_CALLDATA =
+            ThreadLocal.withInitial(() -> calldata(GET_CAMPAIGN_SELECTOR, 1));
+
+    private FundraisingCampaignCodec() {
+    }
+
+    public static String encodeMakeDonation(BigInteger campaignId) {
+        byte[] calldata = MAKE_DONATION_CALLDATA.get();
+        writeUint(calldata, 4, campaignId, 256);
+        return toHex(calldata);
+    }
+
+    public static String encodeWithdrawFunds(BigInteger campaignId) {
+        byte[] calldata = WITHDRAW_FUNDS_CALLDATA.get();
+        writeUint(calldata, 4, campaignId, 256);
+        return toHex(calldata);
+    }
+
+    public static String encodeGetCampaign(BigInteger campaignId) {
+        byte[] calldata = GET_CAMPAIGN_CALLDATA.get();
+        writeUint(calldata, 4, campaignId, 256);
+        return toHex(calldata);
+    }
+
+    public static GetCampaignResult decodeGetCampaign(String returnData) {
+        int start = returnData.startsWith("0x") ? 2 : 0;
+        if (returnData.length() == start) {
+            return null;
+        }
+        requireLength(returnData, start + 576);
+        return new GetCampaignResult(
+                readString(returnData, start, 0),
+                readString(returnData, start, 1),
+                readUint(returnData, start, 2),
+                readUint(returnData, start, 3),
+                readUint(returnData, start, 4),
+                readUint(returnData, start, 5),
+                readAddress(returnData, start, 6),
+                readBool(returnData, start, 7),
+                readBool(returnData, start, 8));
+    }
+
+    public record GetCampaignResult(String title,
+                                    String description,
+                                    BigInteger targetAmount,
+                                    BigInteger currentAmount,
+                                    BigInteger startDate,
+                                    BigInteger endDate,
+                                    String creator,
+                                    boolean active,
+                                    boolean funded) {
+    }
+
+    private static byte[] calldata(int selector, int words) {
+        byte[] calldata = new byte[4 + 32 * words];
+        calldata[0] = (byte) (selector >>> 24);
+        calldata[1] = (byte) (selector >>> 16);
+        calldata[2] = (byte) (selector >>> 8);
+        calldata[3] = (byte) selector;
+        return calldata;
+    }
+
+    private static void writeUint(byte[] buffer, int offset, BigInteger value, int bits) {
+        if (value.signum() < 0 || value.bitLength() > bits) {
+            throw new IllegalArgumentException("Value out of range for uint" + bits + ": " + value);
+        }
+        if (value.bitLength() < 64) {
+            Arrays.fill(buffer, offset, offset + 24, (byte) 0);
+            long word = value.longValue();
+            for (int i = offset + 31; i >= offset + 24; i--) {
+                buffer[i] = (byte) word;
+                word >>>= 8;
+            }
+            return;
+        }
+        byte[] bytes = value.toByteArray();
+        // toByteArray may carry a leading zero sign byte
+        int length = Math.min(bytes.length, 32);
+        Arrays.fill(buffer, offset, offset + 32 - length, (byte) 0);
+        System.arraycopy(bytes, bytes.length - length, buffer, offset + 32 - length, length);
+    }
+
+    private static void writeAddress(byte[] buffer, int offset, String address) {
+        int start = address.startsWith("0x") ? 2 : 0;
+        if (address.length() - start != 40) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        Arrays.fill(buffer, offset, offset + 12, (byte) 0);
+        for (int i = 0; i < 20; i++) {
+            buffer[offset + 12 + i] = (byte) (nibble(address, start + 2 * i) << 4 | nibble(address, start + 2 * i + 1));
+        }
+    }
+
+    private static void writeBool(byte[] buffer, int offset, boolean value) {
+        Arrays.fill(buffer, offset, offset + 31, (byte) 0);
+        buffer[offset + 31] = (byte) (value ? 1 : 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = HEX.get();
+        hex[0] = '0';
+        hex[1] = 'x';
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 + 2 * i] = HEX_DIGITS[(bytes[i] >>> 4) & 0xf];
+            hex[3 + 2 * i] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+        return new String(hex, 0, 2 + 2 * bytes.length);
+    }
+
+    private static BigInteger readUint(String data, int start, int word) {
+        int from = start + 64 * word;
+        int end = from + 64;
+        int digit = from;
+        while (digit < end - 15 && data.charAt(digit) == '0') {
+            digit++;
+        }
+        if (end - digit > 15) {
+            return new BigInteger(data.substring(from, end), 16);
+        }
+        // Up to 60 bits: skip the substring and BigInteger parse
+        long value = 0;
+        for (; digit < end; digit++) {
+            value = value << 4 | nibble(data, digit);
+        }
+        return BigInteger.valueOf(value);
+    }
+
+    private static String readAddress(String data, int start, int word) {
+        int from = start + 64 * word;
+        return "0x" + data.substring(from + 24, from + 64);
+    }
+
+    private static boolean readBool(String data, int start, int word) {
+        return data.charAt(start + 64 * word + 63) != '0';
+    }
+
+    private static String readString(String data, int start, int word) {
+        int lengthAt = start + 2 * readLength(data, start + 64 * word);
+        requireLength(data, lengthAt + 64);
+        int length = readLength(data, lengthAt);
+        int from = lengthAt + 64;
+        requireLength(data, from + 2 * length);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (nibble(data, from + 2 * i) << 4 | nibble(data, from + 2 * i + 1));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(String data, int from) {
+        long value = 0;
+        for (int digit = from; digit < from + 64; digit++) {
+            value = value << 4 | nibble(data, digit);
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Offset or length out of range at " + from);
+            }
+        }
+        return (int) value;
+    }
+
+    private static void requireLength(String data, int length) {
+        if (data.length() < length) {
+            throw new IllegalArgumentException("Return data too short: " + data.length() + " < " + length);
+        }
+    }
+
+    private static int nibble(String hex, int index) {
+        int value = Character.digit(hex.charAt(index), 16);
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid hex character at " + index);
+        }
+        return value;
+    }
+}
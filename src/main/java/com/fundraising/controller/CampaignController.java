@@ -1,59 +1,178 @@
 package com.fundraising.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fundraising.blockchain.CampaignSnapshot;
 import com.fundraising.domain.Campaign;
+import com.fundraising.domain.CampaignSummary;
 import com.fundraising.domain.Donation;
+import com.fundraising.service.CampaignEventBroadcaster;
 import com.fundraising.service.CampaignService;
+import com.fundraising.service.CampaignVersions;
+import com.fundraising.service.DonationPipelineService;
+import com.fundraising.service.IdempotencyService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigInteger;
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/campaigns")
 public class CampaignController {
     private final CampaignService campaignService;
+    private final DonationPipelineService donationPipelineService;
+    private final CampaignEventBroadcaster campaignEventBroadcaster;
+    private final CampaignVersions campaignVersions;
+    private final VersionedResponses versionedResponses;
+    private final IdempotencyService idempotencyService;
+    private final boolean donationPipelineEnabled;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public CampaignController(CampaignService campaignService) {
+    public CampaignController(CampaignService campaignService,
+                              DonationPipelineService donationPipelineService,
+                              CampaignEventBroadcaster campaignEventBroadcaster,
+                              CampaignVersions campaignVersions,
+                              VersionedResponses versionedResponses,
+                              IdempotencyService idempotencyService,
+                              @Value("${donation.pipeline.enabled:true}") boolean donationPipelineEnabled,
+                              ObjectMapper objectMapper) {
         this.campaignService = campaignService;
+        this.donationPipelineService = donationPipelineService;
+        this.campaignEventBroadcaster = campaignEventBroadcaster;
+        this.campaignVersions = campaignVersions;
+        this.versionedResponses = versionedResponses;
+        this.idempotencyService = idempotencyService;
+        this.donationPipelineEnabled = donationPipelineEnabled;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
-    public ResponseEntity<Campaign> createCampaign(
+    public CompletableFuture<ResponseEntity<?>> createCampaign(
             @RequestParam String title,
             @RequestParam String description,
             @RequestParam BigInteger targetAmount,
-            @RequestParam BigInteger endDate) {
-        return ResponseEntity.ok(campaignService.createCampaign(title, description, targetAmount, endDate));
+            @RequestParam BigInteger endDate,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        String request = String.join("\n", title, description, targetAmount.toString(), endDate.toString());
+        return idempotencyService.execute(idempotencyKey, "create", request,
+                () -> ResponseEntity.ok(campaignService.createCampaign(title, description, targetAmount, endDate)));
     }
 
     @PostMapping("/{campaignId}/donate")
-    public ResponseEntity<Donation> makeDonation(
+    public CompletableFuture<ResponseEntity<?>> makeDonation(
             @PathVariable Long campaignId,
             @RequestParam String donorAddress,
-            @RequestParam BigInteger amount) {
+            @RequestParam BigInteger amount,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        // Retries of a timed-out donation must not submit a second transaction
+        return idempotencyService.execute(idempotencyKey, "donate:" + campaignId, donorAddress + "\n" + amount,
+                () -> donate(campaignId, donorAddress, amount));
+    }
+
+    private ResponseEntity<Donation> donate(Long campaignId, String donorAddress, BigInteger amount) {
+        if (donationPipelineEnabled) {
+            Donation donation = donationPipelineService.submitDonation(campaignId, donorAddress, amount);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/campaigns/" + campaignId + "/donations/" + donation.getId()))
+                    .body(donation);
+        }
         return ResponseEntity.ok(campaignService.makeDonation(campaignId, donorAddress, amount));
     }
 
     @GetMapping
-    public ResponseEntity<List<Campaign>> getAllCampaigns() {
-        return ResponseEntity.ok(campaignService.getAllCampaigns());
+    public ResponseEntity<byte[]> getAllCampaigns(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + ListResponses.DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        int pageSize = ListResponses.pageSize(limit);
+        return versionedResponses.get("all:" + after + ":" + pageSize, campaignVersions.globalVersion(), request,
+                () -> ListResponses.page(campaignService.getCampaignSummaries(null, after, pageSize), pageSize, CampaignSummary::id));
+    }
+
+    @GetMapping(value = "/stream", produces = ListResponses.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCampaigns() {
+        return ListResponses.<Campaign>ndjson(objectMapper, sink -> campaignService.streamCampaigns(null, sink));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllCampaignEvents() {
+        return campaignEventBroadcaster.subscribe(null);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Campaign>> getActiveCampaigns() {
-        return ResponseEntity.ok(campaignService.getActiveCampaigns());
+    public ResponseEntity<byte[]> getActiveCampaigns(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + ListResponses.DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        int pageSize = ListResponses.pageSize(limit);
+        return versionedResponses.get("active:" + after + ":" + pageSize, campaignVersions.globalVersion(), request,
+                () -> ListResponses.page(campaignService.getCampaignSummaries("ACTIVE", after, pageSize), pageSize, CampaignSummary::id));
+    }
+
+    @GetMapping(value = "/active/stream", produces = ListResponses.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamActiveCampaigns() {
+        return ListResponses.<Campaign>ndjson(objectMapper, sink -> campaignService.streamCampaigns("ACTIVE", sink));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<byte[]> getTopCampaigns(@RequestParam(defaultValue = "10") int limit, WebRequest request) {
+        int pageSize = ListResponses.pageSize(limit);
+        return versionedResponses.get("top:" + pageSize, campaignVersions.globalVersion(), request,
+                () -> ResponseEntity.ok(campaignService.getTopCampaigns(pageSize)));
+    }
+
+    @GetMapping("/onchain")
+    public ResponseEntity<List<CampaignSnapshot>> getOnChainState(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(campaignService.getOnChainState(ids));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Campaign> getCampaign(@PathVariable Long id) {
-        return ResponseEntity.ok(campaignService.getCampaign(id));
+    public ResponseEntity<byte[]> getCampaign(@PathVariable Long id, WebRequest request) {
+        return versionedResponses.get("campaign:" + id, campaignVersions.campaignVersion(id), request, () -> {
+            Campaign campaign = campaignService.getCampaign(id);
+            return campaign != null ? ResponseEntity.ok(campaign) : ResponseEntity.notFound().build();
+        });
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCampaignEvents(@PathVariable Long id) {
+        return campaignEventBroadcaster.subscribe(id);
     }
 
     @GetMapping("/{id}/donations")
-    public ResponseEntity<List<Donation>> getCampaignDonations(@PathVariable Long id) {
-        return ResponseEntity.ok(campaignService.getCampaignDonations(id));
+    public ResponseEntity<List<Donation>> getCampaignDonations(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + ListResponses.DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = ListResponses.pageSize(limit);
+        return ListResponses.page(campaignService.getCampaignDonationsPage(id, after, pageSize), pageSize, Donation::getId);
+    }
+
+    @GetMapping("/{id}/donations/total")
+    public ResponseEntity<BigInteger> getConfirmedDonationTotal(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.getConfirmedDonationTotal(id));
+    }
+
+    @GetMapping(value = "/{id}/donations/stream", produces = ListResponses.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCampaignDonations(@PathVariable Long id) {
+        return ListResponses.<Donation>ndjson(objectMapper, sink -> campaignService.streamCampaignDonations(id, sink));
+    }
+
+    @GetMapping("/{campaignId}/donations/{donationId}")
+    public ResponseEntity<Donation> getDonation(@PathVariable Long campaignId, @PathVariable Long donationId) {
+        Donation donation = campaignService.getDonation(donationId);
+        if (donation == null || !donation.getCampaign().getId().equals(campaignId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(donation);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.fundraising.controller;
+
+import com.fundraising.domain.Donation;
+import com.fundraising.domain.DonorTotals;
+import com.fundraising.service.DonorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/donors")
+public class DonorController {
+    private final DonorService donorService;
+
+    @Autowired
+    public DonorController(DonorService donorService) {
+        this.donorService = donorService;
+    }
+
+    @GetMapping("/{address}/donations")
+    public ResponseEntity<List<Donation>> getDonations(
+            @PathVariable String address,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + ListResponses.DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = ListResponses.pageSize(limit);
+        return ListResponses.page(donorService.getDonationHistory(address, before, pageSize), pageSize, DonorService::cursor);
+    }
+
+    @GetMapping("/{address}/totals")
+    public ResponseEntity<DonorTotals> getTotals(@PathVariable String address) {
+        return ResponseEntity.ok(donorService.getDonorTotals(address));
+    }
+}
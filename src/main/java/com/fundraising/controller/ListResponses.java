@@ -0,0 +1,56 @@
+package com.fundraising.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shared shapes for list endpoints: keyset pages that stay plain JSON arrays, with the cursor for
+ * the next page in a header, and NDJSON streams written row by row. A request without
+ * {@code limit} gets {@link #DEFAULT_PAGE_SIZE} rows; the complete list is only available as a stream.
+ */
+final class ListResponses {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
+    private ListResponses() {
+    }
+
+    static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    static <T> ResponseEntity<List<T>> page(List<T> items, int pageSize, Function<T, ?> cursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (items.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(cursor.apply(items.get(items.size() - 1))));
+        }
+        return response.body(items);
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> source.accept(item -> {
+            try {
+                writer.writeValue(out, item);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,94 @@
+package com.fundraising.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the endpoints that send transactions: a token bucket per donor address and
+ * one per endpoint. The donor's bucket is checked first, so one busy donor cannot use up the
+ * endpoint's capacity. Rejected requests get 429 with Retry-After before reaching the controller.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    static final String DONATE_PATTERN = "/api/campaigns/{campaignId}/donate";
+    static final String CREATE_PATTERN = "/api/campaigns";
+
+    private final RateLimiter donorLimiter;
+    private final Map<String, RateLimiter> endpointLimiters;
+    private final Counter donorRejections;
+    private final Counter endpointRejections;
+
+    @Autowired
+    public RateLimitInterceptor(@Value("${rate-limit.donor.permits-per-second:1}") double donorRate,
+                                @Value("${rate-limit.donor.burst:5}") int donorBurst,
+                                @Value("${rate-limit.donate.permits-per-second:200}") double donateRate,
+                                @Value("${rate-limit.donate.burst:400}") int donateBurst,
+                                @Value("${rate-limit.create.permits-per-second:10}") double createRate,
+                                @Value("${rate-limit.create.burst:20}") int createBurst,
+                                @Value("${rate-limit.max-keys:100000}") long maximumKeys,
+                                MeterRegistry meterRegistry) {
+        this.donorLimiter = new RateLimiter(donorRate, donorBurst, maximumKeys);
+        this.endpointLimiters = Map.of(
+                DONATE_PATTERN, new RateLimiter(donateRate, donateBurst, 1),
+                CREATE_PATTERN, new RateLimiter(createRate, createBurst, 1));
+        this.donorRejections = rejections(meterRegistry, "donor");
+        this.endpointRejections = rejections(meterRegistry, "endpoint");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // Once per request, not again when an async result is dispatched
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        RateLimiter endpointLimiter = pattern != null ? endpointLimiters.get(pattern) : null;
+        if (endpointLimiter == null) {
+            return true;
+        }
+
+        String donorAddress = request.getParameter("donorAddress");
+        if (donorAddress != null) {
+            long wait = donorLimiter.tryAcquire(donorAddress.toLowerCase(Locale.ROOT));
+            if (wait > 0) {
+                donorRejections.increment();
+                return reject(response, wait, "Too many donations from " + donorAddress);
+            }
+        }
+        long wait = endpointLimiter.tryAcquire(pattern);
+        if (wait > 0) {
+            endpointRejections.increment();
+            return reject(response, wait, "Too many requests");
+        }
+        return true;
+    }
+
+    private static boolean reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), message);
+        return false;
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("http.server.requests.throttled")
+                .description("Requests rejected by rate limiting")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+}
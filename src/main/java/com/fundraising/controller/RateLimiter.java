@@ -0,0 +1,45 @@
+package com.fundraising.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by string, each a single AtomicLong holding the time at which the bucket will
+ * be full again (the generic cell rate algorithm) and updated with compare-and-set, so admission
+ * takes no lock. A bucket left idle for one burst period is full and would admit the same as a new
+ * one, so it is expired then; a size bound caps memory however many keys appear.
+ */
+class RateLimiter {
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    RateLimiter(double permitsPerSecond, int burst, long maximumKeys) {
+        this.nanosPerPermit = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = nanosPerPermit * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    /** Takes a permit and returns zero, or returns how long until one is available without taking it. */
+    long tryAcquire(String key) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + nanosPerPermit;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
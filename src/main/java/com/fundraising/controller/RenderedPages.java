@@ -0,0 +1,122 @@
+package com.fundraising.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.ISpringTemplateEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Rendered Thymeleaf pages kept per key and labelled with a campaign change version. Only the
+ * first request for a page renders it in the request thread. Once the version moves on, requests
+ * get the last rendering at once while a single background render per page catches up
+ * (stale-while-revalidate), so a burst of donations costs each page at most one render at a time
+ * however many requests arrive. Pages are rendered without a request and must not depend on one.
+ * When disabled every request renders its page.
+ */
+@Component
+class RenderedPages {
+    private static final Logger log = LoggerFactory.getLogger(RenderedPages.class);
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    private final ISpringTemplateEngine templateEngine;
+    private final ThreadPoolTaskExecutor executor;
+    private final boolean enabled;
+    private final Cache<String, Page> pages;
+
+    @Autowired
+    RenderedPages(ISpringTemplateEngine templateEngine,
+                  @Qualifier("pageRenderExecutor") ThreadPoolTaskExecutor executor,
+                  @Value("${web.page-cache.enabled:false}") boolean enabled,
+                  @Value("${web.page-cache.max-size:1000}") long maximumSize,
+                  MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "renderedPages");
+    }
+
+    /**
+     * Returns {@code template} rendered with {@code model}. {@code version} must be read before
+     * the model is loaded, so that a change made meanwhile leaves the page stale rather than
+     * labelling old data as current.
+     */
+    ResponseEntity<String> get(String key, long version, String template, Supplier<Map<String, Object>> model) {
+        String html;
+        if (!enabled) {
+            html = render(template, model);
+        } else {
+            Page page = pages.get(key, k -> new Page(new Rendering(version, render(template, model))));
+            Rendering rendering = page.rendering;
+            if (rendering.version() < version) {
+                page.refresh(version, template, model);
+            }
+            html = rendering.html();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(TEXT_HTML_UTF8)
+                .body(html);
+    }
+
+    private String render(String template, Supplier<Map<String, Object>> model) {
+        return templateEngine.process(template, new Context(Locale.getDefault(), model.get()));
+    }
+
+    private record Rendering(long version, String html) {
+    }
+
+    private final class Page {
+        private volatile Rendering rendering;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Page(Rendering rendering) {
+            this.rendering = rendering;
+        }
+
+        void refresh(long version, String template, Supplier<Map<String, Object>> model) {
+            if (!refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        String html = render(template, model);
+                        if (rendering.version() < version) {
+                            rendering = new Rendering(version, html);
+                        }
+                    } catch (RuntimeException e) {
+                        // Served stale until a later request retries
+                        log.warn("Failed to re-render {}", template, e);
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                refreshing.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.fundraising.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GETs for reads labelled with a change version: the version is the strong ETag, a
+ * matching If-None-Match is answered with 304 before anything is loaded, and the serialized
+ * response is kept per key until the version moves on.
+ */
+@Component
+class VersionedResponses {
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> responses;
+
+    @Autowired
+    VersionedResponses(ObjectMapper objectMapper,
+                       @Value("${campaign.response-cache.max-size:10000}") long maximumSize,
+                       MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "campaignResponses");
+    }
+
+    /**
+     * Returns null once the request has been answered with 304; Spring MVC then writes no body.
+     */
+    ResponseEntity<byte[]> get(String key, long version, WebRequest request, Supplier<ResponseEntity<?>> loader) {
+        // Also sets the ETag header on the response
+        if (request.checkNotModified("\"" + version + "\"")) {
+            return null;
+        }
+
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached == null || cached.version() != version) {
+            cached = serialize(version, loader.get());
+            responses.put(key, cached);
+        }
+        return ResponseEntity.status(cached.status())
+                .headers(cached.headers())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.body());
+    }
+
+    private CachedResponse serialize(long version, ResponseEntity<?> response) {
+        try {
+            byte[] body = response.hasBody() ? objectMapper.writeValueAsBytes(response.getBody()) : new byte[0];
+            return new CachedResponse(version, response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(response.getHeaders()), body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private record CachedResponse(long version, HttpStatus status, HttpHeaders headers, byte[] body) {
+    }
+}
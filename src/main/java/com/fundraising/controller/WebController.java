@@ -1,15 +1,22 @@
 package com.fundraising.controller;
 
 import com.fundraising.domain.Campaign;
+import com.fundraising.domain.CampaignSummary;
 import com.fundraising.service.CampaignService;
+import com.fundraising.service.CampaignVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/")
@@ -18,25 +25,33 @@ public class WebController {
     @Autowired
     private CampaignService campaignService;
 
+    @Autowired
+    private CampaignVersions campaignVersions;
+
+    @Autowired
+    private RenderedPages renderedPages;
+
+    private static final int PAGE_SIZE = 100;
+
     @GetMapping
-    public String home(Model model) {
-        List<Campaign> campaigns = campaignService.getAllCampaigns();
-        model.addAttribute("campaigns", campaigns);
-        return "index";
+    public ResponseEntity<String> home() {
+        return campaignList(null);
     }
 
     @GetMapping("/campaign/{id}")
-    public String campaignDetails(@PathVariable Long id, Model model) {
-        Campaign campaign = campaignService.getCampaign(id);
-        model.addAttribute("campaign", campaign);
-        return "campaign-details";
+    public ResponseEntity<String> campaignDetails(@PathVariable Long id) {
+        return renderedPages.get("campaign:" + id, campaignVersions.campaignVersion(id), "campaign/view", () -> {
+            Campaign campaign = campaignService.getCampaign(id);
+            if (campaign == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Campaign not found: " + id);
+            }
+            return Map.of("campaign", campaign);
+        });
     }
 
     @GetMapping("/campaigns")
-    public String allCampaigns(Model model) {
-        List<Campaign> campaigns = campaignService.getAllCampaigns();
-        model.addAttribute("campaigns", campaigns);
-        return "campaigns";
+    public ResponseEntity<String> allCampaigns(@RequestParam(required = false) Long after) {
+        return campaignList(after);
     }
 
     @GetMapping("/campaigns/create")
@@ -51,4 +66,12 @@ public class WebController {
         model.addAttribute("campaigns", campaignService.getCampaignsByCreator(userAddress));
         return "campaign/my";
     }
-} 
\ No newline at end of file
+
+    // Any campaign change can alter a list page, so lists follow the global version
+    private ResponseEntity<String> campaignList(Long after) {
+        return renderedPages.get("campaigns:" + after, campaignVersions.globalVersion(), "home", () -> {
+            List<CampaignSummary> campaigns = campaignService.getCampaignSummaries(null, after, PAGE_SIZE);
+            return Map.of("campaigns", campaigns);
+        });
+    }
+}
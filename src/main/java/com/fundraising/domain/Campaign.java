@@ -1,6 +1,6 @@
 package com.fundraising.domain;
 
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
@@ -10,12 +10,28 @@ import java.time.Instant;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
+import com.fundraising.config.HibernateCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "campaigns")
-@Data
+// Only changed columns are written, so saving a loaded campaign cannot overwrite a concurrent SQL increment of currentAmount
+@DynamicUpdate
+// Totals and statuses are changed in SQL by CampaignCounters, which evicts the campaign itself
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CAMPAIGN_REGION)
+@Table(name = "campaigns", indexes = {
+        // Top campaigns by amount raised
+        @Index(name = "idx_campaigns_current_amount", columnList = "current_amount")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_campaigns_contract_chain_id", columnNames = {"contract_address", "on_chain_id"})
+})
+// No generated equals/hashCode: they would walk the donations collection and back through each donation
+@ToString(exclude = "donations")
 public class Campaign {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,11 +47,13 @@ public class Campaign {
     
     @NotNull
     @Positive
-    @Column(nullable = false)
+    @Convert(converter = WeiAmountConverter.class)
+    @Column(name = "target_amount", nullable = false, precision = WeiAmountConverter.PRECISION, scale = 0)
     private BigInteger targetAmount;
     
     @NotNull
-    @Column(nullable = false)
+    @Convert(converter = WeiAmountConverter.class)
+    @Column(name = "current_amount", nullable = false, precision = WeiAmountConverter.PRECISION, scale = 0)
     private BigInteger currentAmount = BigInteger.ZERO;
     
     @Column(nullable = false)
@@ -44,8 +62,18 @@ public class Campaign {
     @Column(nullable = false)
     private BigInteger endDate;
     
-    @Column(unique = true, nullable = false)
+    // Lowercase like the addresses in node logs, so the indexer and createCampaign share one unique key
+    @Convert(converter = EthereumAddressConverter.class)
+    @Column(name = "contract_address", nullable = false, length = EthereumAddressConverter.LENGTH)
     private String contractAddress;
+
+    // Campaign id inside the contract's campaigns mapping; null for legacy per-contract deployments
+    @Column(name = "on_chain_id")
+    private BigInteger onChainId;
+
+    @Convert(converter = EthereumAddressConverter.class)
+    @Column(name = "creator_address", length = EthereumAddressConverter.LENGTH)
+    private String creatorAddress;
     
     @Column(nullable = false)
     private boolean active = true;
@@ -54,11 +82,15 @@ public class Campaign {
     @Column(nullable = false)
     private String status;
     
+    @JsonIgnore
     @OneToMany(mappedBy = "campaign", cascade = CascadeType.ALL)
     private List<Donation> donations;
     
     @PrePersist
     protected void onCreate() {
-        startDate = BigInteger.valueOf(Instant.now().getEpochSecond());
+        // Campaigns indexed from the chain carry the contract's start time
+        if (startDate == null) {
+            startDate = BigInteger.valueOf(Instant.now().getEpochSecond());
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.fundraising.domain;
+
+import java.math.BigInteger;
+
+/**
+ * Read model for campaign lists: every column the {@link Campaign} JSON carries plus the confirmed
+ * donation count, loaded in one query without touching the donations collection.
+ */
+public record CampaignSummary(Long id,
+                              String title,
+                              String description,
+                              BigInteger targetAmount,
+                              BigInteger currentAmount,
+                              BigInteger startDate,
+                              BigInteger endDate,
+                              String contractAddress,
+                              BigInteger onChainId,
+                              String creatorAddress,
+                              boolean active,
+                              String status,
+                              long donationCount) {
+}
@@ -1,6 +1,9 @@
 package com.fundraising.domain;
 
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
@@ -8,9 +11,16 @@ import javax.persistence.*;
 import java.math.BigInteger;
 import java.time.Instant;
 
-@Data
+@Getter
+@Setter
+@ToString(exclude = "campaign")
 @Entity
-@Table(name = "donations")
+@Table(name = "donations", indexes = {
+        // Donor history is read newest first and paged on (timestamp, id)
+        @Index(name = "idx_donations_donor_timestamp", columnList = "donor_address, timestamp, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_donations_transaction_hash", columnNames = "transaction_hash")
+})
 public class Donation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,23 +31,36 @@ public class Donation {
     private Campaign campaign;
     
     @NotBlank
-    @Column(nullable = false)
+    @Convert(converter = EthereumAddressConverter.class)
+    @Column(name = "donor_address", nullable = false, length = EthereumAddressConverter.LENGTH)
     private String donorAddress;
     
     @NotNull
     @Positive
-    @Column(nullable = false)
+    @Convert(converter = WeiAmountConverter.class)
+    @Column(name = "amount", nullable = false, precision = WeiAmountConverter.PRECISION, scale = 0)
     private BigInteger amount;
     
-    @Column(nullable = false)
+    @Column(name = "transaction_hash", length = 66)
     private String transactionHash;
-    
+
+    // Rows from before donation statuses existed were all recorded after mining
+    @NotBlank
+    @ColumnDefault("'CONFIRMED'")
     @Column(nullable = false)
+    private String status;
+
+    @Column(length = 1000)
+    private String failureReason;
+    
+    @Column(name = "timestamp", nullable = false)
     private BigInteger timestamp;
     
     @PrePersist
     protected void onCreate() {
-        timestamp = BigInteger.valueOf(Instant.now().getEpochSecond());
+        if (timestamp == null) {
+            timestamp = BigInteger.valueOf(Instant.now().getEpochSecond());
+        }
     }
 
     public Long getId() {
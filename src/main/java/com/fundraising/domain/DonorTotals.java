@@ -0,0 +1,7 @@
+package com.fundraising.domain;
+
+import java.math.BigInteger;
+
+/** Confirmed donation count and amount for one donor address. */
+public record DonorTotals(String donorAddress, long donationCount, BigInteger totalAmount) {
+}
@@ -0,0 +1,29 @@
+package com.fundraising.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Locale;
+
+/**
+ * Stores wallet addresses in one canonical spelling (lowercase 0x-prefixed hex), so checksummed and
+ * plain inputs for the same wallet hit the same index entries. Query parameters compared against a
+ * converted attribute go through the same conversion.
+ */
+@Converter
+public class EthereumAddressConverter implements AttributeConverter<String, String> {
+    public static final int LENGTH = 42;
+
+    @Override
+    public String convertToDatabaseColumn(String address) {
+        return normalize(address);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        return column;
+    }
+
+    public static String normalize(String address) {
+        return address == null ? null : address.trim().toLowerCase(Locale.ROOT);
+    }
+}
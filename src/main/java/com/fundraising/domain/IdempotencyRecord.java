@@ -0,0 +1,60 @@
+package com.fundraising.domain;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+/**
+ * Outcome of a request sent with an Idempotency-Key. A row without a status code is still being
+ * processed; completed rows are replayed to retries until they expire.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "idempotency_records", indexes = {
+        @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key", length = 320)
+    private String key;
+
+    // SHA-256 of the request parameters, so a key reused for a different request is rejected
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(length = 500)
+    private String location;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    // Always inserted rather than merged, so two instances claiming the same key collide on the primary key
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,15 @@
+package com.fundraising.domain;
+
+import lombok.Data;
+import javax.persistence.*;
+
+@Data
+@Entity
+@Table(name = "indexer_checkpoints")
+public class IndexerCheckpoint {
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Long lastBlock;
+}
@@ -29,6 +29,8 @@ public class User {
     private String walletAddress;
 
     @NotNull
+    @Convert(converter = WeiAmountConverter.class)
+    @Column(name = "balance", nullable = false, precision = WeiAmountConverter.PRECISION, scale = 0)
     private BigInteger balance;
 
     // Getters and Setters
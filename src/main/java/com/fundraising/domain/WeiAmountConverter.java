@@ -0,0 +1,25 @@
+package com.fundraising.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Maps wei amounts onto an exact {@code NUMERIC(78,0)} column, wide enough for any uint256, so the
+ * database can SUM and ORDER BY them without overflow or rounding.
+ */
+@Converter
+public class WeiAmountConverter implements AttributeConverter<BigInteger, BigDecimal> {
+    public static final int PRECISION = 78;
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(BigInteger wei) {
+        return wei == null ? null : new BigDecimal(wei);
+    }
+
+    @Override
+    public BigInteger convertToEntityAttribute(BigDecimal column) {
+        return column == null ? null : column.toBigIntegerExact();
+    }
+}
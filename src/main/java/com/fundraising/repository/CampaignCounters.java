@@ -0,0 +1,13 @@
+package com.fundraising.repository;
+
+import java.math.BigInteger;
+
+/**
+ * Updates to a campaign's total and status that keep the second-level cache precise. See
+ * {@link CampaignCountersImpl}.
+ */
+public interface CampaignCounters {
+    int incrementCurrentAmount(Long id, BigInteger amount);
+
+    int markFundedIfTargetReached(Long id);
+}
@@ -0,0 +1,67 @@
+package com.fundraising.repository;
+
+import com.fundraising.config.HibernateCacheConfig;
+import com.fundraising.domain.Campaign;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Single-statement SQL updates on the current transaction's connection. A JPQL bulk update would
+ * make Hibernate empty the whole campaign region and every cached campaign query on each
+ * donation; these evict only the updated campaign, and the cached campaign lists only when a
+ * status changes, since a total does not change which campaigns a list holds.
+ */
+class CampaignCountersImpl implements CampaignCounters {
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache cache;
+
+    @Autowired
+    CampaignCountersImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    @Override
+    public int incrementCurrentAmount(Long id, BigInteger amount) {
+        int updated = jdbcTemplate.update("update campaigns set current_amount = current_amount + ? where id = ?",
+                new BigDecimal(amount), id);
+        evict(id, false);
+        return updated;
+    }
+
+    @Override
+    public int markFundedIfTargetReached(Long id) {
+        int updated = jdbcTemplate.update("update campaigns set status = 'FUNDED' " +
+                "where id = ? and status = 'ACTIVE' and current_amount >= target_amount", id);
+        if (updated > 0) {
+            evict(id, true);
+        }
+        return updated;
+    }
+
+    private void evict(Long id, boolean lists) {
+        Runnable eviction = () -> {
+            cache.evictEntityData(Campaign.class, id);
+            if (lists) {
+                cache.evictQueryRegion(HibernateCacheConfig.CAMPAIGN_QUERY_REGION);
+            }
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Again after commit: a concurrent read may have cached the old row in the meantime
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
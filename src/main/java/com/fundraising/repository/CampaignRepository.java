@@ -1,15 +1,65 @@
 package com.fundraising.repository;
 
+import com.fundraising.config.HibernateCacheConfig;
 import com.fundraising.domain.Campaign;
+import com.fundraising.domain.CampaignSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.math.BigInteger;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface CampaignRepository extends JpaRepository<Campaign, Long> {
+public interface CampaignRepository extends JpaRepository<Campaign, Long>, CampaignCounters {
     List<Campaign> findByActiveTrue();
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = HibernateCacheConfig.CAMPAIGN_QUERY_REGION)})
     List<Campaign> findByCreatorAddress(String creatorAddress);
     Campaign findByContractAddress(String contractAddress);
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = HibernateCacheConfig.CAMPAIGN_QUERY_REGION)})
     List<Campaign> findByStatus(String status);
+    List<Campaign> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    List<Campaign> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long afterId, Pageable pageable);
+
+    @Query("select new com.fundraising.domain.CampaignSummary(c.id, c.title, c.description, c.targetAmount, " +
+           "c.currentAmount, c.startDate, c.endDate, c.contractAddress, c.onChainId, c.creatorAddress, c.active, c.status, " +
+           "(select count(d) from Donation d where d.campaign = c and d.status = 'CONFIRMED')) " +
+           "from Campaign c where c.id > :afterId order by c.id")
+    List<CampaignSummary> findSummaries(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.fundraising.domain.CampaignSummary(c.id, c.title, c.description, c.targetAmount, " +
+           "c.currentAmount, c.startDate, c.endDate, c.contractAddress, c.onChainId, c.creatorAddress, c.active, c.status, " +
+           "(select count(d) from Donation d where d.campaign = c and d.status = 'CONFIRMED')) " +
+           "from Campaign c where c.status = :status and c.id > :afterId order by c.id")
+    List<CampaignSummary> findSummariesByStatus(@Param("status") String status, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.fundraising.domain.CampaignSummary(c.id, c.title, c.description, c.targetAmount, " +
+           "c.currentAmount, c.startDate, c.endDate, c.contractAddress, c.onChainId, c.creatorAddress, c.active, c.status, " +
+           "(select count(d) from Donation d where d.campaign = c and d.status = 'CONFIRMED')) " +
+           "from Campaign c order by c.currentAmount desc, c.id asc")
+    List<CampaignSummary> findTopSummariesByAmountRaised(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select c from Campaign c order by c.id")
+    Stream<Campaign> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select c from Campaign c where c.status = :status order by c.id")
+    Stream<Campaign> streamByStatus(@Param("status") String status);
+    Campaign findByContractAddressAndOnChainId(String contractAddress, BigInteger onChainId);
+    Campaign findByContractAddressAndOnChainIdIsNull(String contractAddress);
+
+    @Query("select distinct c.contractAddress from Campaign c")
+    List<String> findDistinctContractAddresses();
 } 
\ No newline at end of file
@@ -2,10 +2,22 @@ package com.fundraising.repository;
 
 import com.fundraising.domain.Donation;
 import com.fundraising.domain.Campaign;
+import com.fundraising.domain.DonorTotals;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.math.BigInteger;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface DonationRepository extends JpaRepository<Donation, Long> {
@@ -13,4 +25,34 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
     List<Donation> findByDonorAddress(String donorAddress);
     Donation findByTransactionHash(String transactionHash);
     List<Donation> findByCampaignId(Long campaignId);
+    List<Donation> findByTransactionHashIn(Collection<String> transactionHashes);
+    List<Donation> findByCampaignIdAndIdGreaterThanOrderByIdAsc(Long campaignId, Long afterId, Pageable pageable);
+
+    @Query("select d from Donation d where d.donorAddress = :donorAddress order by d.timestamp desc, d.id desc")
+    List<Donation> findDonorHistory(@Param("donorAddress") String donorAddress, Pageable pageable);
+
+    @Query("select d from Donation d where d.donorAddress = :donorAddress " +
+           "and (d.timestamp < :timestamp or (d.timestamp = :timestamp and d.id < :id)) " +
+           "order by d.timestamp desc, d.id desc")
+    List<Donation> findDonorHistoryBefore(@Param("donorAddress") String donorAddress,
+                                          @Param("timestamp") BigInteger timestamp,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query("select new com.fundraising.domain.DonorTotals(d.donorAddress, count(d), sum(d.amount)) from Donation d " +
+           "where d.donorAddress = :donorAddress and d.status = 'CONFIRMED' group by d.donorAddress")
+    DonorTotals findDonorTotals(@Param("donorAddress") String donorAddress);
+
+    @Query("select sum(d.amount) from Donation d where d.campaign.id = :campaignId and d.status = 'CONFIRMED'")
+    BigInteger sumConfirmedAmountByCampaignId(@Param("campaignId") Long campaignId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select d from Donation d where d.campaign.id = :campaignId order by d.id")
+    Stream<Donation> streamByCampaignId(@Param("campaignId") Long campaignId);
+
+    /** Also accepts FAILED: a transaction given up on after the receipt timeout can still be mined. */
+    @Modifying
+    @Query("update Donation d set d.status = 'CONFIRMED', d.transactionHash = :transactionHash, d.failureReason = null " +
+           "where d.id = :id and d.status in ('PENDING', 'FAILED')")
+    int markConfirmed(@Param("id") Long id, @Param("transactionHash") String transactionHash);
 } 
\ No newline at end of file
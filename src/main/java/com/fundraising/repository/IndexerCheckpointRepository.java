@@ -0,0 +1,9 @@
+package com.fundraising.repository;
+
+import com.fundraising.domain.IndexerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IndexerCheckpointRepository extends JpaRepository<IndexerCheckpoint, String> {
+}
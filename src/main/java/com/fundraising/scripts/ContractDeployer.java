@@ -1,41 +1,44 @@
 package com.fundraising.scripts;
 
 import com.fundraising.contracts.FundraisingCampaign;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.tx.gas.ContractGasProvider;
-import org.web3j.tx.gas.StaticGasProvider;
 import java.math.BigInteger;
 
 
 @Component
+@ConditionalOnProperty(name = "ethereum.deployer.enabled", havingValue = "true", matchIfMissing = true)
 public class ContractDeployer implements CommandLineRunner {
+    private static final Logger log = LoggerFactory.getLogger(ContractDeployer.class);
 
     private final Web3j web3j;
+    private final ContractGasProvider gasProvider;
     private final String deployerAddress;
     private final String deployerPrivateKey;
 
     public ContractDeployer(
             Web3j web3j,
+            ContractGasProvider gasProvider,
             @Value("${ethereum.deployer.address}") String deployerAddress,
             @Value("${ethereum.deployer.private-key}") String deployerPrivateKey) {
         this.web3j = web3j;
+        this.gasProvider = gasProvider;
         this.deployerAddress = deployerAddress;
         this.deployerPrivateKey = deployerPrivateKey;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        System.out.println("Deploying FundraisingCampaign contract...");
+        log.info("Deploying FundraisingCampaign contract...");
         
         Credentials credentials = Credentials.create(deployerPrivateKey);
-        ContractGasProvider gasProvider = new StaticGasProvider(
-                BigInteger.valueOf(20000000000L),
-                BigInteger.valueOf(6721975L)
-        );
 
         FundraisingCampaign contract = FundraisingCampaign.deploy(
                 web3j,
@@ -48,8 +51,6 @@ public class ContractDeployer implements CommandLineRunner {
         ).send(); 
 
         String contractAddress = contract.getContractAddress();
-        System.out.println("Contract deployed successfully!");
-        System.out.println("Contract address: " + contractAddress);
-        System.out.println("Please update this address in application.properties");
+        log.info("Contract deployed at {}; set ethereum.contract.address to it in application.properties", contractAddress);
     }
 } 
\ No newline at end of file
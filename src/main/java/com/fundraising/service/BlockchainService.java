@@ -1,48 +1,266 @@
 package com.fundraising.service;
 
+import com.fundraising.blockchain.CampaignDeployment;
+import com.fundraising.blockchain.CampaignKey;
+import com.fundraising.blockchain.CampaignSnapshot;
+import com.fundraising.blockchain.CampaignStateCache;
+import com.fundraising.blockchain.FeeHistoryGasProvider;
+import com.fundraising.blockchain.NonceManager;
+import com.fundraising.blockchain.TransactionReceiptTracker;
 import com.fundraising.contracts.FundraisingCampaign;
+import com.fundraising.contracts.FundraisingCampaignCodec;
 import com.fundraising.domain.Campaign;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.web3j.crypto.Credentials;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.WalletUtils;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
-import org.web3j.tx.gas.ContractGasProvider;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.TransactionManager;
 import org.web3j.abi.datatypes.Type;
 
+import javax.annotation.PostConstruct;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class BlockchainService {
+    private static final Logger log = LoggerFactory.getLogger(BlockchainService.class);
 
     @Autowired
     private Web3j web3j;
 
     @Autowired
-    private Credentials credentials;
+    private TransactionManager transactionManager;
 
     @Autowired
-    private ContractGasProvider gasProvider;
+    private FeeHistoryGasProvider gasProvider;
 
-    public String createCampaign(String title, String description, BigInteger targetAmount, BigInteger endDate) throws Exception {
-        FundraisingCampaign contract = FundraisingCampaign.deploy(web3j, credentials, gasProvider, title, description, targetAmount, endDate).send();
-        return contract.getContractAddress();
+    @Autowired
+    private TransactionReceiptTracker receiptTracker;
+
+    @Autowired
+    private NonceManager nonceManager;
+
+    @Autowired
+    private CampaignStateCache campaignStateCache;
+
+    @Value("${ethereum.rpc.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${ethereum.contract.address}")
+    private String registryAddress;
+
+    // registry: every campaign lives in the shared contract; per-campaign: legacy deployment per campaign
+    @Value("${ethereum.contract.mode:registry}")
+    private String contractMode;
+
+    private FundraisingCampaign registry;
+
+    @PostConstruct
+    public void loadRegistry() {
+        if ("registry".equals(contractMode) && WalletUtils.isValidAddress(registryAddress)) {
+            registry = FundraisingCampaign.load(registryAddress, web3j, transactionManager, gasProvider);
+        }
     }
 
+    @Timed("blockchain.service")
+    public CampaignDeployment createCampaign(String title, String description, BigInteger targetAmount, BigInteger endDate) throws Exception {
+        if ("per-campaign".equals(contractMode)) {
+            FundraisingCampaign contract = FundraisingCampaign.deploy(
+                    web3j, transactionManager, gasProvider, title, description, targetAmount, endDate).send();
+            return new CampaignDeployment(contract.getContractAddress(), null, transactionManager.getFromAddress());
+        }
+        if (registry == null) {
+            throw new IllegalStateException("ethereum.contract.address is not a valid registry contract address");
+        }
+
+        estimateGasLimit(registry.getContractAddress(),
+                FundraisingCampaign.createCampaignFunction(title, description, targetAmount, endDate), BigInteger.ZERO);
+        TransactionReceipt receipt = registry.createCampaign(title, description, targetAmount, endDate).send();
+        List<FundraisingCampaign.CampaignCreatedEventResponse> created = FundraisingCampaign.getCampaignCreatedEvents(receipt);
+        if (created.isEmpty()) {
+            throw new TransactionException("No CampaignCreated event in transaction", receipt);
+        }
+        FundraisingCampaign.CampaignCreatedEventResponse event = created.get(0);
+        return new CampaignDeployment(registry.getContractAddress(), event.campaignId, event.creator);
+    }
+
+    @Timed("blockchain.service")
     public String makeDonation(String contractAddress, BigInteger campaignId, BigInteger amount) throws Exception {
-        FundraisingCampaign contract = FundraisingCampaign.load(contractAddress, web3j, credentials, gasProvider);
+        estimateGasLimit(contractAddress, FundraisingCampaign.FUNC_MAKEDONATION,
+                FundraisingCampaignCodec.encodeMakeDonation(campaignId), amount);
+        FundraisingCampaign contract = FundraisingCampaign.load(contractAddress, web3j, transactionManager, gasProvider);
         TransactionReceipt receipt = contract.makeDonation(campaignId, amount).send();
         return receipt.getTransactionHash();
     }
 
+    @Timed("blockchain.service")
     public void withdrawFunds(String contractAddress, BigInteger campaignId) throws Exception {
-        FundraisingCampaign contract = FundraisingCampaign.load(contractAddress, web3j, credentials, gasProvider);
+        estimateGasLimit(contractAddress, FundraisingCampaign.FUNC_WITHDRAWFUNDS,
+                FundraisingCampaignCodec.encodeWithdrawFunds(campaignId), BigInteger.ZERO);
+        FundraisingCampaign contract = FundraisingCampaign.load(contractAddress, web3j, transactionManager, gasProvider);
         contract.withdrawFunds(campaignId).send();
     }
 
+    @Timed("blockchain.service")
     public List<Type> getCampaign(String contractAddress, BigInteger campaignId) throws Exception {
-        FundraisingCampaign contract = FundraisingCampaign.load(contractAddress, web3j, credentials, gasProvider);
-        return contract.getCampaign(campaignId).send();
+        CampaignKey key = new CampaignKey(contractAddress, campaignId);
+        BigInteger blockNumber = receiptTracker.getLatestBlock();
+        if (blockNumber.signum() < 0) {
+            return readCampaign(key, DefaultBlockParameterName.LATEST);
+        }
+        try {
+            // Read at the block the entry is keyed by, so a cached tuple is exact for that block
+            return campaignStateCache.get(key, blockNumber, campaign -> {
+                try {
+                    return readCampaign(campaign, new DefaultBlockParameterNumber(blockNumber));
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Reads many campaigns with one JSON-RPC batch per {@code ethereum.rpc.max-batch-size} calls,
+     * decoded with {@link FundraisingCampaignCodec}. The result follows the order of {@code keys};
+     * campaigns whose call reverts or errors are left out of it.
+     */
+    @Timed("blockchain.service")
+    public Map<CampaignKey, CampaignSnapshot> getCampaigns(Collection<CampaignKey> keys) throws Exception {
+        BigInteger blockNumber = receiptTracker.getLatestBlock();
+        boolean cacheable = blockNumber.signum() >= 0;
+        DefaultBlockParameter block = cacheable
+                ? new DefaultBlockParameterNumber(blockNumber)
+                : DefaultBlockParameterName.LATEST;
+
+        Set<CampaignKey> unique = new LinkedHashSet<>(keys);
+        Map<CampaignKey, CampaignSnapshot> snapshots = new HashMap<>();
+        List<CampaignKey> misses = new ArrayList<>();
+        for (CampaignKey key : unique) {
+            List<Type> cached = cacheable ? campaignStateCache.getIfPresent(key, blockNumber) : null;
+            if (cached != null) {
+                snapshots.put(key, CampaignSnapshot.of(key, cached));
+            } else {
+                misses.add(key);
+            }
+        }
+
+        Map<Long, CampaignKey> keyByRequestId = new HashMap<>();
+        List<Response<?>> responses = new ArrayList<>();
+        for (int from = 0; from < misses.size(); from += maxBatchSize) {
+            BatchRequest batch = web3j.newBatch();
+            for (CampaignKey key : misses.subList(from, Math.min(from + maxBatchSize, misses.size()))) {
+                String data = FundraisingCampaignCodec.encodeGetCampaign(key.campaignId());
+                Request<?, EthCall> call = web3j.ethCall(
+                        Transaction.createEthCallTransaction(transactionManager.getFromAddress(), key.contractAddress(), data),
+                        block);
+                keyByRequestId.put(call.getId(), key);
+                batch.add(call);
+            }
+            responses.addAll(batch.send().getResponses());
+        }
+
+        for (Response<?> response : responses) {
+            CampaignKey key = keyByRequestId.get(response.getId());
+            EthCall call = (EthCall) response;
+            if (key == null || call.hasError() || call.isReverted()) {
+                continue;
+            }
+            FundraisingCampaignCodec.GetCampaignResult result;
+            try {
+                result = FundraisingCampaignCodec.decodeGetCampaign(call.getValue());
+            } catch (IllegalArgumentException e) {
+                log.debug("Undecodable getCampaign result for {}: {}", key, e.getMessage());
+                continue;
+            }
+            if (result == null) {
+                continue;
+            }
+            List<Type> values = campaignValues(result);
+            if (cacheable) {
+                campaignStateCache.put(key, blockNumber, values);
+            }
+            snapshots.put(key, CampaignSnapshot.of(key, values));
+        }
+
+        Map<CampaignKey, CampaignSnapshot> ordered = new LinkedHashMap<>();
+        for (CampaignKey key : unique) {
+            CampaignSnapshot snapshot = snapshots.get(key);
+            if (snapshot != null) {
+                ordered.put(key, snapshot);
+            }
+        }
+        return ordered;
+    }
+
+    /** The getCampaign tuple as the generated wrapper returns it, which is what the state cache holds. */
+    private static List<Type> campaignValues(FundraisingCampaignCodec.GetCampaignResult result) {
+        return List.of(
+                new Utf8String(result.title()),
+                new Utf8String(result.description()),
+                new Uint256(result.targetAmount()),
+                new Uint256(result.currentAmount()),
+                new Uint256(result.startDate()),
+                new Uint256(result.endDate()),
+                new Address(result.creator()),
+                new Bool(result.active()),
+                new Bool(result.funded()));
+    }
+
+    private void estimateGasLimit(String contractAddress, Function function, BigInteger value) {
+        estimateGasLimit(contractAddress, function.getName(), FunctionEncoder.encode(function), value);
+    }
+
+    private void estimateGasLimit(String contractAddress, String function, String data, BigInteger value) {
+        gasProvider.estimateGasLimit(function, transactionManager.getFromAddress(), contractAddress, data, value);
+    }
+
+    private List<Type> readCampaign(CampaignKey key, DefaultBlockParameter block) throws Exception {
+        FundraisingCampaign contract = FundraisingCampaign.load(key.contractAddress(), web3j, transactionManager, gasProvider);
+        contract.setDefaultBlockParameter(block);
+        return contract.getCampaign(key.campaignId()).send();
+    }
+
+    public CompletableFuture<TransactionReceipt> awaitReceipt(String transactionHash) {
+        return receiptTracker.track(transactionHash).whenComplete((receipt, error) -> {
+            if (error instanceof TransactionException) {
+                try {
+                    nonceManager.resync(transactionManager.getFromAddress());
+                } catch (Exception e) {
+                    log.warn("Nonce resync after dropped transaction {} failed", transactionHash, e);
+                }
+            }
+        });
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,393 @@
+package com.fundraising.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fundraising.domain.Campaign;
+import com.fundraising.domain.Donation;
+import com.fundraising.repository.CampaignRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Pushes campaign changes to Server-Sent Events subscribers of one campaign or of all campaigns.
+ *
+ * <p>Donations are serialized once when their transaction commits. Campaign totals and statuses
+ * are collected and flushed on a timer, so a burst of donations costs one query and one
+ * serialization per campaign however many clients watch it. Each subscriber has a bounded buffer
+ * drained on {@code campaignEventExecutor}: campaign states coalesce to the latest per campaign and
+ * the oldest donations are dropped when a client falls behind, which it is told about with a
+ * {@code dropped} event. Publishers never wait on a client and idle subscribers hold no thread.
+ *
+ * <p>Sends block while a client's socket buffer is full, so each drain runs under a write timeout.
+ * A drain that overruns it closes the stream: the subscriber is dropped at once and the pool gets a
+ * stand-in thread while the stuck write waits for Tomcat's connection timeout, after which the
+ * emitter is completed with an error. Slow clients therefore cannot starve the rest.
+ */
+@Service
+public class CampaignEventBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(CampaignEventBroadcaster.class);
+
+    private final CampaignRepository campaignRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long writeTimeoutMillis;
+    private final int basePoolSize;
+    private final Counter droppedEvents;
+    private final Counter writeTimeouts;
+    private final ScheduledExecutorService writeWatchdog;
+
+    private final Set<Subscriber> allCampaignSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> campaignSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<Long> changedCampaigns = ConcurrentHashMap.newKeySet();
+    private final Object poolSizeLock = new Object();
+    private int stalledWrites;
+
+    @Autowired
+    public CampaignEventBroadcaster(CampaignRepository campaignRepository,
+                                    ObjectMapper objectMapper,
+                                    @Qualifier("campaignEventExecutor") ThreadPoolTaskExecutor executor,
+                                    @Value("${campaign.events.timeout-ms:1800000}") long timeoutMillis,
+                                    @Value("${campaign.events.buffer-size:64}") int bufferSize,
+                                    @Value("${campaign.events.max-subscribers:20000}") int maxSubscribers,
+                                    @Value("${campaign.events.write-timeout-ms:10000}") long writeTimeoutMillis,
+                                    MeterRegistry meterRegistry) {
+        this.campaignRepository = campaignRepository;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        this.basePoolSize = executor.getCorePoolSize();
+        Gauge.builder("campaign.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open campaign event streams")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("campaign.events.dropped")
+                .description("Events discarded because a subscriber fell behind")
+                .register(meterRegistry);
+        this.writeTimeouts = Counter.builder("campaign.events.write.timeouts")
+                .description("Event streams closed because a send did not finish within the write timeout")
+                .register(meterRegistry);
+        ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "campaign-events-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Nearly every drain cancels its timeout; keep those out of the queue instead of until they expire
+        watchdog.setRemoveOnCancelPolicy(true);
+        this.writeWatchdog = watchdog;
+    }
+
+    /**
+     * Opens a stream of one campaign's events, starting with its current state, or of every
+     * campaign's when {@code campaignId} is null.
+     */
+    public SseEmitter subscribe(Long campaignId) {
+        Campaign campaign = null;
+        if (campaignId != null) {
+            campaign = campaignRepository.findById(campaignId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Campaign not found: " + campaignId));
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(campaignId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        // Clients reconnect on their own; completing avoids an error response on timeout
+        emitter.onTimeout(emitter::complete);
+        if (campaignId == null) {
+            allCampaignSubscribers.add(subscriber);
+        } else {
+            campaignSubscribers.computeIfAbsent(campaignId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            subscriber.offerCampaign(campaignId, toJson(campaign));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignUpdated(CampaignUpdatedEvent event) {
+        Long campaignId = event.getCampaignId();
+        if (!hasSubscribers(campaignId)) {
+            return;
+        }
+        changedCampaigns.add(campaignId);
+        if (event.getDonation() != null) {
+            String json = toJson(DonationUpdate.of(event.getDonation()));
+            forEachSubscriber(campaignId, subscriber -> subscriber.offerDonation(json));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.events.flush-interval-ms:250}")
+    public void flush() {
+        if (changedCampaigns.isEmpty()) {
+            return;
+        }
+        List<Long> campaignIds = new ArrayList<>(changedCampaigns);
+        changedCampaigns.removeAll(campaignIds);
+        try {
+            for (Campaign campaign : campaignRepository.findAllById(campaignIds)) {
+                String json = toJson(campaign);
+                forEachSubscriber(campaign.getId(), subscriber -> subscriber.offerCampaign(campaign.getId(), json));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish updates for campaigns {}", campaignIds, e);
+        }
+    }
+
+    /** Keeps idle connections open through proxies and finds clients that have gone away. */
+    @Scheduled(fixedDelayString = "${campaign.events.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        allCampaignSubscribers.forEach(Subscriber::offerHeartbeat);
+        campaignSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::offerHeartbeat));
+    }
+
+    @PreDestroy
+    public void close() {
+        writeWatchdog.shutdownNow();
+        allCampaignSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        campaignSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private boolean hasSubscribers(Long campaignId) {
+        return !allCampaignSubscribers.isEmpty() || campaignSubscribers.containsKey(campaignId);
+    }
+
+    private void forEachSubscriber(Long campaignId, Consumer<Subscriber> action) {
+        allCampaignSubscribers.forEach(action);
+        Set<Subscriber> subscribers = campaignSubscribers.get(campaignId);
+        if (subscribers != null) {
+            subscribers.forEach(action);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        if (subscriber.campaignId == null) {
+            allCampaignSubscribers.remove(subscriber);
+        } else {
+            campaignSubscribers.computeIfPresent(subscriber.campaignId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    /**
+     * Gives the drain pool one more thread per stalled write, up to its configured size again, and
+     * takes it back once the write returns.
+     */
+    private void adjustStalledWrites(int delta) {
+        synchronized (poolSizeLock) {
+            stalledWrites += delta;
+            int size = basePoolSize + Math.max(0, Math.min(stalledWrites, basePoolSize));
+            if (size > executor.getMaxPoolSize()) {
+                executor.setMaxPoolSize(size);
+                executor.setCorePoolSize(size);
+            } else {
+                executor.setCorePoolSize(size);
+                executor.setMaxPoolSize(size);
+            }
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    /** A donation without its campaign, whose total is already out of date by the time it is sent. */
+    private record DonationUpdate(Long id, Long campaignId, String donorAddress, BigInteger amount,
+                                  String transactionHash, String status, String failureReason, BigInteger timestamp) {
+        static DonationUpdate of(Donation donation) {
+            return new DonationUpdate(donation.getId(), donation.getCampaign().getId(), donation.getDonorAddress(),
+                    donation.getAmount(), donation.getTransactionHash(), donation.getStatus(), donation.getFailureReason(),
+                    donation.getTimestamp());
+        }
+    }
+
+    private final class Subscriber {
+        private final Long campaignId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+
+        // Guarded by this
+        private final Map<Long, String> campaigns = new LinkedHashMap<>();
+        private final ArrayDeque<String> donations = new ArrayDeque<>();
+        private int dropped;
+        private boolean heartbeat;
+        private boolean draining;
+
+        Subscriber(Long campaignId, SseEmitter emitter) {
+            this.campaignId = campaignId;
+            this.emitter = emitter;
+        }
+
+        void offerCampaign(Long id, String json) {
+            synchronized (this) {
+                // Re-inserted, so a full buffer drops the campaign updated longest ago
+                if (campaigns.remove(id) == null && campaigns.size() >= bufferSize) {
+                    Iterator<String> oldest = campaigns.values().iterator();
+                    oldest.next();
+                    oldest.remove();
+                    dropped();
+                }
+                campaigns.put(id, json);
+            }
+            drainLater();
+        }
+
+        void offerDonation(String json) {
+            synchronized (this) {
+                if (donations.size() >= bufferSize) {
+                    donations.poll();
+                    dropped();
+                }
+                donations.add(json);
+            }
+            drainLater();
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                heartbeat = true;
+            }
+            drainLater();
+        }
+
+        private void dropped() {
+            dropped++;
+            droppedEvents.increment();
+        }
+
+        private void drainLater() {
+            synchronized (this) {
+                if (draining || closed.get()) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // Retried on the next event or heartbeat
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+                synchronized (this) {
+                    if (dropped > 0) {
+                        events.add(SseEmitter.event().name("dropped").data(dropped));
+                        dropped = 0;
+                    }
+                    for (String donation : donations) {
+                        events.add(SseEmitter.event().name("donation").data(donation, MediaType.APPLICATION_JSON));
+                    }
+                    for (String campaign : campaigns.values()) {
+                        events.add(SseEmitter.event().name("campaign").data(campaign, MediaType.APPLICATION_JSON));
+                    }
+                    if (events.isEmpty() && heartbeat) {
+                        events.add(SseEmitter.event().comment("heartbeat"));
+                    }
+                    donations.clear();
+                    campaigns.clear();
+                    heartbeat = false;
+                    if (events.isEmpty() || closed.get()) {
+                        draining = false;
+                        return;
+                    }
+                }
+                ScheduledFuture<?> watchdog = writeWatchdog.schedule(this::writeTimedOut, writeTimeoutMillis, TimeUnit.MILLISECONDS);
+                boolean failed = false;
+                try {
+                    for (SseEmitter.SseEventBuilder event : events) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client disconnected or the stream already completed
+                    failed = true;
+                } finally {
+                    watchdog.cancel(false);
+                }
+                if (stalled.get()) {
+                    adjustStalledWrites(-1);
+                    if (!failed) {
+                        emitter.completeWithError(new IOException("Event stream write timed out"));
+                    }
+                    return;
+                }
+                if (failed) {
+                    unsubscribe(this);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Runs on the watchdog while a send is still blocked. The emitter cannot be completed from here:
+         * its methods wait for the blocked send to return.
+         */
+        private void writeTimedOut() {
+            if (!stalled.compareAndSet(false, true)) {
+                return;
+            }
+            writeTimeouts.increment();
+            log.debug("Closing event stream for campaign {}: a send took longer than {} ms", campaignId, writeTimeoutMillis);
+            unsubscribe(this);
+            adjustStalledWrites(1);
+        }
+    }
+}
@@ -1,49 +1,82 @@
 package com.fundraising.service;
 
+import com.fundraising.blockchain.CampaignDeployment;
+import com.fundraising.blockchain.CampaignKey;
+import com.fundraising.blockchain.CampaignSnapshot;
 import com.fundraising.domain.Campaign;
+import com.fundraising.domain.CampaignSummary;
 import com.fundraising.domain.Donation;
 import com.fundraising.repository.CampaignRepository;
 import com.fundraising.repository.DonationRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.persistence.EntityManager;
 import java.math.BigInteger;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CampaignService {
     private final CampaignRepository campaignRepository;
     private final DonationRepository donationRepository;
     private final BlockchainService blockchainService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public CampaignService(CampaignRepository campaignRepository, 
                          DonationRepository donationRepository,
-                         BlockchainService blockchainService) {
+                         BlockchainService blockchainService,
+                         EntityManager entityManager,
+                         ApplicationEventPublisher eventPublisher) {
         this.campaignRepository = campaignRepository;
         this.donationRepository = donationRepository;
         this.blockchainService = blockchainService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Timed("campaign.service")
     @Transactional
     public Campaign createCampaign(String title, String description, BigInteger targetAmount, BigInteger endDate) {
         try {
-            String contractAddress = blockchainService.createCampaign(title, description, targetAmount, endDate);
-            Campaign campaign = new Campaign();
+            CampaignDeployment deployment = blockchainService.createCampaign(title, description, targetAmount, endDate);
+            // The indexer may already have recorded it from the CampaignCreated event
+            Campaign campaign = deployment.onChainId() == null ? null
+                    : campaignRepository.findByContractAddressAndOnChainId(deployment.contractAddress(), deployment.onChainId());
+            if (campaign == null) {
+                campaign = new Campaign();
+            }
             campaign.setTitle(title);
             campaign.setDescription(description);
             campaign.setTargetAmount(targetAmount);
             campaign.setEndDate(endDate);
             campaign.setCurrentAmount(BigInteger.ZERO);
-            campaign.setContractAddress(contractAddress);
+            campaign.setContractAddress(deployment.contractAddress());
+            campaign.setOnChainId(deployment.onChainId());
+            campaign.setCreatorAddress(deployment.creatorAddress());
             campaign.setStatus("ACTIVE");
-            return campaignRepository.save(campaign);
+            campaign = campaignRepository.save(campaign);
+            eventPublisher.publishEvent(new CampaignUpdatedEvent(campaign.getId()));
+            return campaign;
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to create campaign", e);
         }
     }
 
+    @Timed("campaign.service")
     @Transactional
     public Donation makeDonation(Long campaignId, String donorAddress, BigInteger amount) {
         try {
@@ -52,9 +85,10 @@ public class CampaignService {
                 throw new RuntimeException("Campaign is not active");
             }
 
+            CampaignKey key = campaignKey(campaign);
             String transactionHash = blockchainService.makeDonation(
-                campaign.getContractAddress(), 
-                BigInteger.valueOf(campaignId), 
+                key.contractAddress(),
+                key.campaignId(),
                 amount
             );
 
@@ -63,20 +97,105 @@ public class CampaignService {
             donation.setDonorAddress(donorAddress);
             donation.setAmount(amount);
             donation.setTransactionHash(transactionHash);
+            donation.setStatus("CONFIRMED");
             donation = donationRepository.save(donation);
+            eventPublisher.publishEvent(new CampaignUpdatedEvent(campaign.getId(), donation));
 
-            campaign.setCurrentAmount(campaign.getCurrentAmount().add(amount));
-            if (campaign.getCurrentAmount().compareTo(campaign.getTargetAmount()) >= 0) {
-                campaign.setStatus("FUNDED");
-            }
-            campaignRepository.save(campaign);
+            addToCampaignTotal(campaign.getId(), amount);
 
             return donation;
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to make donation", e);
         }
     }
 
+    @Timed("campaign.service")
+    @Transactional
+    public Donation createPendingDonation(Long campaignId, String donorAddress, BigInteger amount) {
+        Campaign campaign = getCampaign(campaignId);
+        if (campaign == null || !"ACTIVE".equals(campaign.getStatus())) {
+            throw new RuntimeException("Campaign is not active");
+        }
+
+        Donation donation = new Donation();
+        donation.setCampaign(campaign);
+        donation.setDonorAddress(donorAddress);
+        donation.setAmount(amount);
+        donation.setStatus("PENDING");
+        return donationRepository.save(donation);
+    }
+
+    @Timed("campaign.service")
+    @Transactional
+    public void recordDonationSubmission(Long donationId, String transactionHash) {
+        donationRepository.findById(donationId).ifPresent(donation -> {
+            if ("PENDING".equals(donation.getStatus())) {
+                donation.setTransactionHash(transactionHash);
+                donationRepository.save(donation);
+            }
+        });
+    }
+
+    /** Records the hashes of a signed batch in one transaction, keyed by donation id. */
+    @Timed("campaign.service")
+    @Transactional
+    public void recordDonationSubmissions(Map<Long, String> transactionHashes) {
+        transactionHashes.forEach(this::recordDonationSubmission);
+    }
+
+    @Timed("campaign.service")
+    @Transactional
+    public Donation confirmDonation(Long donationId, String transactionHash) {
+        Donation donation = donationRepository.findById(donationId)
+                .orElseThrow(() -> new RuntimeException("Donation not found: " + donationId));
+        // Conditional update so the pipeline and the chain indexer cannot both count the same donation
+        if (donationRepository.markConfirmed(donationId, transactionHash) == 0) {
+            return donation;
+        }
+
+        donation.setTransactionHash(transactionHash);
+        donation.setStatus("CONFIRMED");
+        donation.setFailureReason(null);
+        eventPublisher.publishEvent(new CampaignUpdatedEvent(donation.getCampaign().getId(), donation));
+        addToCampaignTotal(donation.getCampaign().getId(), donation.getAmount());
+        return donation;
+    }
+
+    @Timed("campaign.service")
+    @Transactional
+    public Donation failDonation(Long donationId, String transactionHash, String reason) {
+        Donation donation = donationRepository.findById(donationId)
+                .orElseThrow(() -> new RuntimeException("Donation not found: " + donationId));
+        if (!"PENDING".equals(donation.getStatus())) {
+            return donation;
+        }
+
+        if (transactionHash != null) {
+            donation.setTransactionHash(transactionHash);
+        }
+        donation.setStatus("FAILED");
+        donation.setFailureReason(reason);
+        donation = donationRepository.save(donation);
+        eventPublisher.publishEvent(new CampaignUpdatedEvent(donation.getCampaign().getId(), donation));
+        return donation;
+    }
+
+    /**
+     * Credits a campaign with a single SQL increment, so concurrent donations never overwrite
+     * each other's totals. Returns true only for the update that moved the campaign from ACTIVE
+     * to FUNDED.
+     */
+    @Timed("campaign.service")
+    @Transactional
+    public boolean addToCampaignTotal(Long campaignId, BigInteger amount) {
+        campaignRepository.incrementCurrentAmount(campaignId, amount);
+        eventPublisher.publishEvent(new CampaignUpdatedEvent(campaignId));
+        return campaignRepository.markFundedIfTargetReached(campaignId) == 1;
+    }
+
+    @Timed("campaign.service")
     @Transactional
     public void withdrawFunds(Long campaignId) {
         try {
@@ -84,33 +203,137 @@ public class CampaignService {
             if (campaign == null || !"FUNDED".equals(campaign.getStatus())) {
                 throw new RuntimeException("Campaign is not funded");
             }
-            blockchainService.withdrawFunds(campaign.getContractAddress(), BigInteger.valueOf(campaignId));
+            CampaignKey key = campaignKey(campaign);
+            blockchainService.withdrawFunds(key.contractAddress(), key.campaignId());
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to withdraw funds", e);
         }
     }
 
+    @Timed("campaign.service")
     public List<Campaign> getAllCampaigns() {
         return campaignRepository.findAll();
     }
 
+    @Timed("campaign.service")
+    public List<Campaign> getCampaignsPage(String status, Long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        long after = afterId != null ? afterId : 0L;
+        if (status == null) {
+            return campaignRepository.findByIdGreaterThanOrderByIdAsc(after, page);
+        }
+        return campaignRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, after, page);
+    }
+
+    @Timed("campaign.service")
+    public List<CampaignSummary> getCampaignSummaries(String status, Long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        long after = afterId != null ? afterId : 0L;
+        if (status == null) {
+            return campaignRepository.findSummaries(after, page);
+        }
+        return campaignRepository.findSummariesByStatus(status, after, page);
+    }
+
+    @Timed("campaign.service")
+    public List<CampaignSummary> getTopCampaigns(int limit) {
+        return campaignRepository.findTopSummariesByAmountRaised(PageRequest.of(0, limit));
+    }
+
+    @Timed("campaign.service")
+    public BigInteger getConfirmedDonationTotal(Long campaignId) {
+        BigInteger total = donationRepository.sumConfirmedAmountByCampaignId(campaignId);
+        return total != null ? total : BigInteger.ZERO;
+    }
+
+    /**
+     * Hands campaigns to {@code sink} one at a time from a cursor, detaching each after use so the
+     * persistence context stays small however many rows there are.
+     */
+    @Timed("campaign.service")
+    @Transactional(readOnly = true)
+    public void streamCampaigns(String status, Consumer<Campaign> sink) {
+        try (Stream<Campaign> campaigns = status == null
+                ? campaignRepository.streamAll()
+                : campaignRepository.streamByStatus(status)) {
+            campaigns.forEach(campaign -> {
+                sink.accept(campaign);
+                entityManager.detach(campaign);
+            });
+        }
+    }
+
+    @Timed("campaign.service")
     public List<Campaign> getActiveCampaigns() {
         return campaignRepository.findByStatus("ACTIVE");
     }
 
+    @Timed("campaign.service")
     public List<Campaign> getFundedCampaigns() {
         return campaignRepository.findByStatus("FUNDED");
     }
 
+    @Timed("campaign.service")
     public List<Campaign> getCampaignsByCreator(String creatorAddress) {
         return campaignRepository.findByCreatorAddress(creatorAddress);
     }
 
+    @Timed("campaign.service")
     public Campaign getCampaign(Long id) {
         return campaignRepository.findById(id).orElse(null);
     }
 
+    @Timed("campaign.service")
     public List<Donation> getCampaignDonations(Long campaignId) {
         return donationRepository.findByCampaignId(campaignId);
     }
+
+    @Timed("campaign.service")
+    public List<Donation> getCampaignDonationsPage(Long campaignId, Long afterId, int limit) {
+        long after = afterId != null ? afterId : 0L;
+        PageRequest page = PageRequest.of(0, limit);
+        return donationRepository.findByCampaignIdAndIdGreaterThanOrderByIdAsc(campaignId, after, page);
+    }
+
+    @Timed("campaign.service")
+    @Transactional(readOnly = true)
+    public void streamCampaignDonations(Long campaignId, Consumer<Donation> sink) {
+        try (Stream<Donation> donations = donationRepository.streamByCampaignId(campaignId)) {
+            donations.forEach(donation -> {
+                sink.accept(donation);
+                entityManager.detach(donation);
+            });
+        }
+    }
+
+    @Timed("campaign.service")
+    public List<CampaignSnapshot> getOnChainState(List<Long> campaignIds) {
+        try {
+            List<CampaignKey> keys = campaignRepository.findAllById(campaignIds).stream()
+                    .map(CampaignService::campaignKey)
+                    .collect(Collectors.toList());
+            Map<CampaignKey, CampaignSnapshot> snapshots = blockchainService.getCampaigns(keys);
+            return keys.stream()
+                    .map(snapshots::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read on-chain campaign state", e);
+        }
+    }
+
+    // Legacy per-campaign contracts were addressed with the database id
+    static CampaignKey campaignKey(Campaign campaign) {
+        BigInteger onChainId = campaign.getOnChainId() != null
+                ? campaign.getOnChainId()
+                : BigInteger.valueOf(campaign.getId());
+        return new CampaignKey(campaign.getContractAddress(), onChainId);
+    }
+
+    @Timed("campaign.service")
+    public Donation getDonation(Long donationId) {
+        return donationRepository.findById(donationId).orElse(null);
+    }
 } 
\ No newline at end of file
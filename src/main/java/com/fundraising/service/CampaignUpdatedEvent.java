@@ -0,0 +1,30 @@
+package com.fundraising.service;
+
+import com.fundraising.domain.Donation;
+
+/**
+ * Published when a campaign is created, credited, changes status or has a donation confirmed or
+ * failed. {@link CampaignEventBroadcaster} receives it once the publishing transaction commits.
+ */
+public class CampaignUpdatedEvent {
+    private final Long campaignId;
+    private final Donation donation;
+
+    public CampaignUpdatedEvent(Long campaignId) {
+        this(campaignId, null);
+    }
+
+    public CampaignUpdatedEvent(Long campaignId, Donation donation) {
+        this.campaignId = campaignId;
+        this.donation = donation;
+    }
+
+    public Long getCampaignId() {
+        return campaignId;
+    }
+
+    /** The donation that changed, or null when only the campaign's total or status did. */
+    public Donation getDonation() {
+        return donation;
+    }
+}
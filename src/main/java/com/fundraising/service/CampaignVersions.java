@@ -0,0 +1,35 @@
+package com.fundraising.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change versions for campaign reads: one per campaign and a global one for lists. Both
+ * advance after commit on every {@link CampaignUpdatedEvent}, so a version read before loading a
+ * response never labels older data. Versions start from the startup time, so validators handed out
+ * by an earlier process never match, and they only see writes made through this instance.
+ */
+@Component
+public class CampaignVersions {
+    private final long initialVersion = System.currentTimeMillis() * 1000;
+    private final AtomicLong globalVersion = new AtomicLong(initialVersion);
+    private final Map<Long, Long> campaignVersions = new ConcurrentHashMap<>();
+
+    public long campaignVersion(Long campaignId) {
+        return campaignVersions.getOrDefault(campaignId, initialVersion);
+    }
+
+    public long globalVersion() {
+        return globalVersion.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignUpdated(CampaignUpdatedEvent event) {
+        long version = globalVersion.incrementAndGet();
+        campaignVersions.merge(event.getCampaignId(), version, Math::max);
+    }
+}
@@ -0,0 +1,355 @@
+package com.fundraising.service;
+
+import com.fundraising.blockchain.CampaignKey;
+import com.fundraising.blockchain.CampaignSnapshot;
+import com.fundraising.blockchain.CampaignStateCache;
+import com.fundraising.contracts.FundraisingCampaign;
+import com.fundraising.domain.Campaign;
+import com.fundraising.domain.Donation;
+import com.fundraising.domain.IndexerCheckpoint;
+import com.fundraising.repository.CampaignRepository;
+import com.fundraising.repository.DonationRepository;
+import com.fundraising.repository.IndexerCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.crypto.WalletUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Materializes FundraisingCampaign events into the database. Pages through eth_getLogs in
+ * block ranges that shrink when the node rejects a query and grow again while results stay
+ * small, and checkpoints the last processed block in the same transaction as the upserts.
+ * New campaigns are read from the contract and inserted before that transaction, so no RPC runs
+ * while it holds locks and a campaign already recorded by {@link CampaignService} is left as is.
+ */
+@Service
+public class ChainEventIndexer {
+    private static final Logger log = LoggerFactory.getLogger(ChainEventIndexer.class);
+
+    static final String CHECKPOINT_NAME = "fundraising-events";
+
+    private static final String CAMPAIGN_CREATED_TOPIC = EventEncoder.encode(FundraisingCampaign.CAMPAIGNCREATED_EVENT);
+    private static final String DONATION_RECEIVED_TOPIC = EventEncoder.encode(FundraisingCampaign.DONATIONRECEIVED_EVENT);
+    private static final String FUNDS_WITHDRAWN_TOPIC = EventEncoder.encode(FundraisingCampaign.FUNDSWITHDRAWN_EVENT);
+
+    private final Web3j web3j;
+    private final CampaignRepository campaignRepository;
+    private final DonationRepository donationRepository;
+    private final IndexerCheckpointRepository checkpointRepository;
+    private final CampaignService campaignService;
+    private final BlockchainService blockchainService;
+    private final CampaignStateCache campaignStateCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ethereum.indexer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ethereum.contract.address}")
+    private String registryAddress;
+
+    @Value("${ethereum.indexer.start-block:0}")
+    private long startBlock;
+
+    @Value("${ethereum.indexer.confirmations:2}")
+    private long confirmations;
+
+    @Value("${ethereum.indexer.min-block-range:10}")
+    private long minBlockRange;
+
+    @Value("${ethereum.indexer.max-block-range:5000}")
+    private long maxBlockRange;
+
+    @Value("${ethereum.indexer.target-logs-per-call:1000}")
+    private int targetLogsPerCall;
+
+    private long blockRange = 1000;
+
+    @Autowired
+    public ChainEventIndexer(Web3j web3j,
+                             CampaignRepository campaignRepository,
+                             DonationRepository donationRepository,
+                             IndexerCheckpointRepository checkpointRepository,
+                             CampaignService campaignService,
+                             BlockchainService blockchainService,
+                             CampaignStateCache campaignStateCache,
+                             PlatformTransactionManager platformTransactionManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.web3j = web3j;
+        this.campaignRepository = campaignRepository;
+        this.donationRepository = donationRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.campaignService = campaignService;
+        this.blockchainService = blockchainService;
+        this.campaignStateCache = campaignStateCache;
+        this.transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${ethereum.indexer.poll-interval-ms:5000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            indexToHead();
+        } catch (Exception e) {
+            log.warn("Event indexing failed", e);
+        }
+    }
+
+    public synchronized void indexToHead() throws IOException {
+        List<String> addresses = contractAddresses();
+        if (addresses.isEmpty()) {
+            return;
+        }
+
+        long head = web3j.ethBlockNumber().send().getBlockNumber().longValueExact() - confirmations;
+        long from = checkpointRepository.findById(CHECKPOINT_NAME)
+                .map(checkpoint -> checkpoint.getLastBlock() + 1)
+                .orElse(startBlock);
+
+        while (from <= head) {
+            long to = Math.min(from + blockRange - 1, head);
+            List<Log> logs;
+            try {
+                logs = fetchLogs(addresses, from, to);
+            } catch (IOException e) {
+                if (blockRange <= minBlockRange) {
+                    throw e;
+                }
+                blockRange = Math.max(minBlockRange, blockRange / 2);
+                log.debug("eth_getLogs {}-{} rejected, shrinking range to {}", from, to, blockRange);
+                continue;
+            }
+
+            long lastBlock = to;
+            insertCreatedCampaigns(logs);
+            transactionTemplate.executeWithoutResult(status -> {
+                apply(logs);
+                IndexerCheckpoint checkpoint = new IndexerCheckpoint();
+                checkpoint.setName(CHECKPOINT_NAME);
+                checkpoint.setLastBlock(lastBlock);
+                checkpointRepository.save(checkpoint);
+            });
+
+            if (logs.size() < targetLogsPerCall) {
+                blockRange = Math.min(maxBlockRange, blockRange * 2);
+            }
+            from = to + 1;
+        }
+    }
+
+    private List<String> contractAddresses() {
+        Set<String> addresses = new LinkedHashSet<>();
+        if (WalletUtils.isValidAddress(registryAddress)) {
+            addresses.add(registryAddress.toLowerCase(Locale.ROOT));
+        }
+        for (String address : campaignRepository.findDistinctContractAddresses()) {
+            addresses.add(address.toLowerCase(Locale.ROOT));
+        }
+        return new ArrayList<>(addresses);
+    }
+
+    private List<Log> fetchLogs(List<String> addresses, long from, long to) throws IOException {
+        EthFilter filter = new EthFilter(
+                new DefaultBlockParameterNumber(from),
+                new DefaultBlockParameterNumber(to),
+                addresses);
+        filter.addOptionalTopics(CAMPAIGN_CREATED_TOPIC, DONATION_RECEIVED_TOPIC, FUNDS_WITHDRAWN_TOPIC);
+
+        EthLog response = web3j.ethGetLogs(filter).send();
+        if (response.hasError()) {
+            throw new IOException("eth_getLogs failed: " + response.getError().getMessage());
+        }
+        return response.getLogs().stream()
+                .map(result -> (Log) result.get())
+                .filter(entry -> !entry.isRemoved())
+                .collect(Collectors.toList());
+    }
+
+    private void apply(List<Log> logs) {
+        Map<String, Campaign> campaigns = new HashMap<>();
+        List<Log> donationLogs = new ArrayList<>();
+
+        for (Log entry : logs) {
+            String topic = entry.getTopics().get(0);
+            if (DONATION_RECEIVED_TOPIC.equals(topic)) {
+                campaignStateCache.invalidate(new CampaignKey(entry.getAddress(), campaignId(entry)));
+                donationLogs.add(entry);
+            } else if (FUNDS_WITHDRAWN_TOPIC.equals(topic)) {
+                campaignStateCache.invalidate(new CampaignKey(entry.getAddress(), campaignId(entry)));
+                Campaign campaign = resolveCampaign(entry, campaigns);
+                if (campaign != null) {
+                    campaign.setActive(false);
+                    campaignRepository.save(campaign);
+                    eventPublisher.publishEvent(new CampaignUpdatedEvent(campaign.getId()));
+                }
+            }
+        }
+
+        if (!donationLogs.isEmpty()) {
+            upsertDonations(donationLogs, campaigns);
+        }
+    }
+
+    /**
+     * Inserts the campaigns created in {@code logs} that are not recorded yet, each in its own
+     * transaction. The event carries no description or dates, so those are read from the contract
+     * first; a duplicate key means {@link CampaignService#createCampaign} recorded it meanwhile.
+     */
+    private void insertCreatedCampaigns(List<Log> logs) throws IOException {
+        Map<CampaignKey, Log> created = new LinkedHashMap<>();
+        for (Log entry : logs) {
+            if (CAMPAIGN_CREATED_TOPIC.equals(entry.getTopics().get(0))
+                    && findCampaign(entry.getAddress(), campaignId(entry)) == null) {
+                created.putIfAbsent(new CampaignKey(entry.getAddress(), campaignId(entry)), entry);
+            }
+        }
+        if (created.isEmpty()) {
+            return;
+        }
+
+        Map<CampaignKey, CampaignSnapshot> snapshots;
+        try {
+            snapshots = blockchainService.getCampaigns(created.keySet());
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to read created campaigns", e);
+        }
+        for (Map.Entry<CampaignKey, Log> entry : created.entrySet()) {
+            CampaignSnapshot snapshot = snapshots.get(entry.getKey());
+            if (snapshot == null || snapshot.startDate().signum() == 0) {
+                throw new IOException("Failed to read campaign " + entry.getKey().campaignId()
+                        + " at " + entry.getKey().contractAddress());
+            }
+            insertCampaign(entry.getValue(), snapshot);
+        }
+    }
+
+    private void insertCampaign(Log entry, CampaignSnapshot snapshot) {
+        List<Type> values = decode(entry, FundraisingCampaign.CAMPAIGNCREATED_EVENT);
+
+        Campaign campaign = new Campaign();
+        campaign.setContractAddress(entry.getAddress());
+        campaign.setOnChainId(campaignId(entry));
+        campaign.setTitle((String) values.get(0).getValue());
+        campaign.setTargetAmount((BigInteger) values.get(1).getValue());
+        campaign.setCreatorAddress((String) values.get(2).getValue());
+        campaign.setDescription(snapshot.description());
+        campaign.setStartDate(snapshot.startDate());
+        campaign.setEndDate(snapshot.endDate());
+        campaign.setCurrentAmount(BigInteger.ZERO);
+        campaign.setStatus("ACTIVE");
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Campaign saved = campaignRepository.save(campaign);
+                eventPublisher.publishEvent(new CampaignUpdatedEvent(saved.getId()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Campaign {} at {} was recorded concurrently", campaign.getOnChainId(), entry.getAddress());
+        }
+    }
+
+    private void upsertDonations(List<Log> donationLogs, Map<String, Campaign> campaigns) {
+        Set<String> hashes = donationLogs.stream().map(Log::getTransactionHash).collect(Collectors.toSet());
+        Map<String, Donation> existing = donationRepository.findByTransactionHashIn(hashes).stream()
+                .collect(Collectors.toMap(Donation::getTransactionHash, Function.identity(), (a, b) -> a));
+
+        List<Donation> created = new ArrayList<>();
+        Map<Long, BigInteger> totals = new LinkedHashMap<>();
+        for (Log entry : donationLogs) {
+            Donation known = existing.get(entry.getTransactionHash());
+            if (known != null) {
+                // Submitted through the pipeline; confirm it here if the receipt has not arrived yet, or
+                // if the pipeline stopped waiting for it and failed the donation before it was mined
+                if (!"CONFIRMED".equals(known.getStatus())) {
+                    campaignService.confirmDonation(known.getId(), entry.getTransactionHash());
+                }
+                continue;
+            }
+
+            Campaign campaign = resolveCampaign(entry, campaigns);
+            if (campaign == null) {
+                log.warn("Skipping donation {} for unknown campaign {} at {}",
+                        entry.getTransactionHash(), campaignId(entry), entry.getAddress());
+                continue;
+            }
+            List<Type> values = decode(entry, FundraisingCampaign.DONATIONRECEIVED_EVENT);
+            BigInteger amount = (BigInteger) values.get(1).getValue();
+
+            Donation donation = new Donation();
+            donation.setCampaign(campaign);
+            donation.setDonorAddress((String) values.get(0).getValue());
+            donation.setAmount(amount);
+            donation.setTransactionHash(entry.getTransactionHash());
+            donation.setStatus("CONFIRMED");
+            created.add(donation);
+            totals.merge(campaign.getId(), amount, BigInteger::add);
+        }
+
+        donationRepository.saveAll(created);
+        for (Donation donation : created) {
+            eventPublisher.publishEvent(new CampaignUpdatedEvent(donation.getCampaign().getId(), donation));
+        }
+        totals.forEach(campaignService::addToCampaignTotal);
+    }
+
+    private Campaign resolveCampaign(Log entry, Map<String, Campaign> campaigns) {
+        BigInteger onChainId = campaignId(entry);
+        return campaigns.computeIfAbsent(campaignKey(entry.getAddress(), onChainId),
+                key -> findCampaign(entry.getAddress(), onChainId));
+    }
+
+    private Campaign findCampaign(String contractAddress, BigInteger onChainId) {
+        Campaign campaign = campaignRepository.findByContractAddressAndOnChainId(contractAddress, onChainId);
+        if (campaign == null) {
+            // Legacy per-contract deployments are keyed by contract address alone
+            campaign = campaignRepository.findByContractAddressAndOnChainIdIsNull(contractAddress);
+        }
+        return campaign;
+    }
+
+    private static BigInteger campaignId(Log entry) {
+        return Numeric.toBigInt(entry.getTopics().get(1));
+    }
+
+    private static String campaignKey(String contractAddress, BigInteger onChainId) {
+        return contractAddress.toLowerCase(Locale.ROOT) + ":" + onChainId;
+    }
+
+    private static List<Type> decode(Log entry, Event event) {
+        return FunctionReturnDecoder.decode(entry.getData(), event.getNonIndexedParameters());
+    }
+}
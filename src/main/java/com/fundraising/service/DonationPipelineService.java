@@ -0,0 +1,167 @@
+package com.fundraising.service;
+
+import com.fundraising.blockchain.BulkSubmission;
+import com.fundraising.blockchain.BulkTransaction;
+import com.fundraising.blockchain.BulkTransactionSubmitter;
+import com.fundraising.blockchain.CampaignKey;
+import com.fundraising.blockchain.ChainWriteBulkhead;
+import com.fundraising.domain.Donation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Accepts donations as PENDING and submits them in the background. Donations accepted while a
+ * submission is running are queued and go out together through the {@link BulkTransactionSubmitter}:
+ * signed in parallel and sent as one batched {@code eth_sendRawTransaction} call.
+ */
+@Service
+public class DonationPipelineService {
+    private static final Logger log = LoggerFactory.getLogger(DonationPipelineService.class);
+
+    private final CampaignService campaignService;
+    private final BlockchainService blockchainService;
+    private final Executor donationExecutor;
+    private final ChainWriteBulkhead chainWriteBulkhead;
+    private final BulkTransactionSubmitter bulkTransactionSubmitter;
+    private final int maxBatchSize;
+    private final Queue<QueuedDonation> queued = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public DonationPipelineService(CampaignService campaignService,
+                                   BlockchainService blockchainService,
+                                   @Qualifier("donationExecutor") Executor donationExecutor,
+                                   ChainWriteBulkhead chainWriteBulkhead,
+                                   BulkTransactionSubmitter bulkTransactionSubmitter,
+                                   @Value("${donation.pipeline.max-batch-size:32}") int maxBatchSize) {
+        this.campaignService = campaignService;
+        this.blockchainService = blockchainService;
+        this.donationExecutor = donationExecutor;
+        this.chainWriteBulkhead = chainWriteBulkhead;
+        this.bulkTransactionSubmitter = bulkTransactionSubmitter;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Donation submitDonation(Long campaignId, String donorAddress, BigInteger amount) {
+        // Taken before the donation is accepted, so a full bulkhead is a 503 with Retry-After rather
+        // than a donation failed after its 202; held until the node has the transaction
+        ChainWriteBulkhead.Permit permit = chainWriteBulkhead.acquire();
+        Donation donation;
+        try {
+            // Committed before the chain call so no JDBC connection is held while the transaction is mined
+            donation = campaignService.createPendingDonation(campaignId, donorAddress, amount);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        QueuedDonation queuedDonation = new QueuedDonation(
+                donation.getId(), CampaignService.campaignKey(donation.getCampaign()), amount, permit);
+        queued.add(queuedDonation);
+
+        // One task per donation, but each task sends everything queued so far; later ones may find nothing left
+        try {
+            donationExecutor.execute(this::submitQueued);
+        } catch (RejectedExecutionException e) {
+            if (queued.remove(queuedDonation)) {
+                permit.close();
+                campaignService.failDonation(donation.getId(), null, "Donation pipeline is saturated");
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Donation pipeline is saturated", e);
+            }
+            // Already taken by a running task
+        }
+        return donation;
+    }
+
+    private void submitQueued() {
+        List<QueuedDonation> batch = new ArrayList<>();
+        QueuedDonation next;
+        while (batch.size() < maxBatchSize && (next = queued.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<BulkSubmission> submissions;
+        try {
+            List<BulkTransaction> transactions = new ArrayList<>(batch.size());
+            for (QueuedDonation donation : batch) {
+                transactions.add(BulkTransaction.makeDonation(
+                        donation.key().contractAddress(), donation.key().campaignId(), donation.amount()));
+            }
+            // Only signing and submission happen on this thread; confirmation comes from the receipt tracker
+            // The hashes are on record before anything is broadcast, so the chain indexer always finds
+            // the donation a mined transaction belongs to instead of inserting a second one
+            submissions = bulkTransactionSubmitter.submit(transactions, hashes -> {
+                Map<Long, String> submitted = new HashMap<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (hashes.get(i) != null) {
+                        submitted.put(batch.get(i).id(), hashes.get(i));
+                    }
+                }
+                campaignService.recordDonationSubmissions(submitted);
+            });
+        } catch (Exception e) {
+            for (QueuedDonation donation : batch) {
+                log.warn("Donation {} could not be submitted", donation.id(), e);
+                campaignService.failDonation(donation.id(), null, e.getMessage());
+            }
+            return;
+        } finally {
+            batch.forEach(donation -> donation.permit().close());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Long donationId = batch.get(i).id();
+            BulkSubmission submission = submissions.get(i);
+            if (!submission.accepted()) {
+                log.warn("Donation {} could not be submitted: {}", donationId, submission.error());
+                campaignService.failDonation(donationId, null, submission.error());
+            } else {
+                trackSubmission(donationId, submission.transactionHash());
+            }
+        }
+    }
+
+    private void trackSubmission(Long donationId, String transactionHash) {
+        blockchainService.awaitReceipt(transactionHash)
+                .whenComplete((receipt, error) -> {
+                    try {
+                        donationExecutor.execute(() -> recordOutcome(donationId, transactionHash, receipt, error));
+                    } catch (RejectedExecutionException e) {
+                        recordOutcome(donationId, transactionHash, receipt, error);
+                    }
+                });
+    }
+
+    private void recordOutcome(Long donationId, String transactionHash, TransactionReceipt receipt, Throwable error) {
+        if (error != null) {
+            log.warn("Donation {} was not mined", donationId, error);
+            campaignService.failDonation(donationId, transactionHash, error.getMessage());
+        } else if (!receipt.isStatusOK()) {
+            campaignService.failDonation(donationId, transactionHash,
+                    "Transaction reverted with status " + receipt.getStatus());
+        } else {
+            campaignService.confirmDonation(donationId, transactionHash);
+        }
+    }
+
+    private record QueuedDonation(Long id, CampaignKey key, BigInteger amount, ChainWriteBulkhead.Permit permit) {
+    }
+}
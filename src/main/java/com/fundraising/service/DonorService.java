@@ -0,0 +1,65 @@
+package com.fundraising.service;
+
+import com.fundraising.domain.Donation;
+import com.fundraising.domain.DonorTotals;
+import com.fundraising.domain.EthereumAddressConverter;
+import com.fundraising.repository.DonationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.web3j.crypto.WalletUtils;
+
+import java.math.BigInteger;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class DonorService {
+    private final DonationRepository donationRepository;
+
+    @Autowired
+    public DonorService(DonationRepository donationRepository) {
+        this.donationRepository = donationRepository;
+    }
+
+    /**
+     * Newest-first page of a donor's donations. {@code before} is the cursor of the last row of the
+     * previous page ({@link #cursor(Donation)}), or null for the first page.
+     */
+    public List<Donation> getDonationHistory(String donorAddress, String before, int limit) {
+        String address = normalizeAddress(donorAddress);
+        PageRequest page = PageRequest.of(0, limit);
+        if (before == null) {
+            return donationRepository.findDonorHistory(address, page);
+        }
+        int separator = before.indexOf('-');
+        try {
+            BigInteger timestamp = new BigInteger(before.substring(0, separator));
+            Long id = Long.valueOf(before.substring(separator + 1));
+            return donationRepository.findDonorHistoryBefore(address, timestamp, id, page);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + before, e);
+        }
+    }
+
+    public DonorTotals getDonorTotals(String donorAddress) {
+        String address = normalizeAddress(donorAddress);
+        DonorTotals totals = donationRepository.findDonorTotals(address);
+        return totals != null ? totals : new DonorTotals(address, 0, BigInteger.ZERO);
+    }
+
+    public static String cursor(Donation donation) {
+        return donation.getTimestamp() + "-" + donation.getId();
+    }
+
+    private static String normalizeAddress(String donorAddress) {
+        if (!WalletUtils.isValidAddress(donorAddress)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid address: " + donorAddress);
+        }
+        String address = EthereumAddressConverter.normalize(donorAddress);
+        return address.startsWith("0x") ? address : "0x" + address;
+    }
+}
@@ -0,0 +1,206 @@
+package com.fundraising.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fundraising.domain.IdempotencyRecord;
+import com.fundraising.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key. Concurrent repeats attach to the first
+ * execution's future without holding a request thread, and repeats after completion get the
+ * stored response, from memory while it is cached and otherwise from {@link IdempotencyRecord}.
+ * A key is claimed in the database before the request runs, so another instance receiving the
+ * same key meanwhile answers 409. Failed requests release their key so the client can retry.
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, Execution> executions;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+                              @Value("${idempotency.cache.max-size:100000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, executions, "idempotencyKeys");
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key and scope has run or is running.
+     * {@code request} identifies the parameters; reusing a key with different ones is a 422.
+     * Without a key the action simply runs.
+     */
+    public CompletableFuture<ResponseEntity<?>> execute(String idempotencyKey, String scope, String request,
+                                                        Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey == null) {
+            return CompletableFuture.completedFuture(action.get());
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        Execution execution = new Execution(sha256(request), new CompletableFuture<>());
+        Execution existing = executions.asMap().putIfAbsent(key, execution);
+        if (existing != null) {
+            checkSameRequest(existing.requestHash(), execution.requestHash());
+            return existing.response().thenApply(IdempotencyService::replayed);
+        }
+
+        try {
+            ResponseEntity<?> response = executeOnce(key, execution.requestHash(), action);
+            execution.response().complete(response);
+            return CompletableFuture.completedFuture(response);
+        } catch (RuntimeException e) {
+            executions.asMap().remove(key, execution);
+            execution.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(System.currentTimeMillis());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private ResponseEntity<?> executeOnce(String key, String requestHash, Supplier<ResponseEntity<?>> action) {
+        long now = System.currentTimeMillis();
+        IdempotencyRecord stored = repository.findById(key).orElse(null);
+        if (stored != null && stored.getExpiresAt() > now) {
+            checkSameRequest(stored.getRequestHash(), requestHash);
+            if (stored.getStatusCode() == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY_HEADER + " is in progress");
+            }
+            return replay(stored);
+        }
+        if (stored != null) {
+            repository.deleteById(key);
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setRequestHash(requestHash);
+        record.setExpiresAt(now + ttl.toMillis());
+        try {
+            record = repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY_HEADER + " is in progress", e);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            repository.deleteById(key);
+            throw e;
+        }
+        record.setStatusCode(response.getStatusCodeValue());
+        URI location = response.getHeaders().getLocation();
+        record.setLocation(location != null ? location.toString() : null);
+        record.setResponseBody(toJson(response.getBody()));
+        try {
+            repository.save(record);
+        } catch (RuntimeException e) {
+            // The request has run; only later retries on other instances lose the stored response
+            log.warn("Failed to store the response for idempotency key {}", key, e);
+        }
+        return response;
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+        }
+    }
+
+    private static ResponseEntity<?> replay(IdempotencyRecord record) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(record.getStatusCode())
+                .header(REPLAYED_HEADER, "true");
+        if (record.getLocation() != null) {
+            response.location(URI.create(record.getLocation()));
+        }
+        if (record.getResponseBody() == null) {
+            return response.build();
+        }
+        return response.contentType(MediaType.APPLICATION_JSON)
+                .body(record.getResponseBody().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseEntity<?> replayed(ResponseEntity<?> response) {
+        if (response.getHeaders().containsKey(REPLAYED_HEADER)) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Execution(String requestHash, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
@@ -0,0 +1,358 @@
+package com.fundraising.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.methods.response.AbiDefinition;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Writes {@code <Contract>Codec}: calldata encoders and return decoders for selected functions
+ * that skip web3j's {@code Function}/{@code Type} objects. Selectors are computed here, encoders
+ * fill a per-thread buffer with the static ABI layout and decoders read the hex return data
+ * straight into a record.
+ *
+ * <p>Parameters may be {@code uint<M>}, {@code address} or {@code bool}; return values may also
+ * be {@code string}. Anything else is rejected at generation time.
+ */
+public class ContractCodecGenerator {
+    private static final String GENERATOR = "ContractGenerator --codec";
+
+    public static void generate(File abiFile, String outputPath, String packageName, String contractName,
+                                Collection<String> functionNames) throws IOException {
+        AbiDefinition[] abi = new ObjectMapper().readValue(abiFile, AbiDefinition[].class);
+        List<AbiDefinition> functions = new ArrayList<>();
+        for (String name : functionNames) {
+            AbiDefinition function = Arrays.stream(abi)
+                    .filter(definition -> "function".equals(definition.getType()) && name.equals(definition.getName()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No function " + name + " in " + abiFile));
+            functions.add(function);
+        }
+
+        Path target = Path.of(outputPath, packageName.replace('.', File.separatorChar), contractName + "Codec.java");
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, render(packageName, contractName, functions), StandardCharsets.UTF_8);
+    }
+
+    static String render(String packageName, String contractName, List<AbiDefinition> functions) {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(packageName).append(";\n\n");
+        out.append("import java.math.BigInteger;\n");
+        out.append("import java.nio.charset.StandardCharsets;\n");
+        out.append("import java.util.Arrays;\n\n");
+        out.append("/**\n");
+        out.append(" * Allocation-light calldata encoders and return decoders for {@link ").append(contractName).append("}.\n");
+        out.append(" * Encoders return the same hex as {@code FunctionEncoder}; decoders return {@code null} for empty\n");
+        out.append(" * return data, like {@code FunctionReturnDecoder} returns an empty list.\n");
+        out.append(" *\n");
+        out.append(" * <p>Generated by {@code ").append(GENERATOR).append("}; do not edit.\n");
+        out.append(" */\n");
+        out.append("public final class ").append(contractName).append("Codec {\n");
+
+        int maxCalldata = 4;
+        for (AbiDefinition function : functions) {
+            out.append("    /** {@code ").append(signature(function)).append("} */\n");
+            out.append("    public static final int ").append(constant(function.getName())).append("_SELECTOR = ")
+                    .append(selector(function)).append(";\n");
+            maxCalldata = Math.max(maxCalldata, 4 + 32 * function.getInputs().size());
+        }
+        out.append("\n");
+        out.append("    private static final char[] HEX_DIGITS = \"0123456789abcdef\".toCharArray();\n");
+        out.append("    private static final int MAX_CALLDATA_LENGTH = ").append(maxCalldata).append(";\n");
+        out.append("    private static final ThreadLocal<char[]> HEX =\n");
+        out.append("            ThreadLocal.withInitial(() -> new char[2 + 2 * MAX_CALLDATA_LENGTH]);\n");
+        for (AbiDefinition function : functions) {
+            String name = constant(function.getName());
+            out.append("    private static final ThreadLocal<byte[]> ").append(name).append("_CALLDATA =\n");
+            out.append("            ThreadLocal.withInitial(() -> calldata(").append(name).append("_SELECTOR, ")
+                    .append(function.getInputs().size()).append("));\n");
+        }
+        out.append("\n");
+        out.append("    private ").append(contractName).append("Codec() {\n");
+        out.append("    }\n");
+
+        for (AbiDefinition function : functions) {
+            renderEncoder(out, function);
+            if (!function.getOutputs().isEmpty()) {
+                renderDecoder(out, function);
+            }
+        }
+        out.append(HELPERS);
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static void renderEncoder(StringBuilder out, AbiDefinition function) {
+        List<AbiDefinition.NamedType> inputs = function.getInputs();
+        List<String> parameters = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            parameters.add(javaType(inputs.get(i).getType(), false) + " " + parameterName(inputs.get(i), i));
+        }
+        out.append("\n");
+        out.append("    public static String encode").append(capitalize(function.getName())).append("(")
+                .append(String.join(", ", parameters)).append(") {\n");
+        out.append("        byte[] calldata = ").append(constant(function.getName())).append("_CALLDATA.get();\n");
+        for (int i = 0; i < inputs.size(); i++) {
+            String type = inputs.get(i).getType();
+            String offset = String.valueOf(4 + 32 * i);
+            String name = parameterName(inputs.get(i), i);
+            if (type.startsWith("uint")) {
+                out.append("        writeUint(calldata, ").append(offset).append(", ").append(name).append(", ")
+                        .append(bits(type)).append(");\n");
+            } else if (type.equals("address")) {
+                out.append("        writeAddress(calldata, ").append(offset).append(", ").append(name).append(");\n");
+            } else {
+                out.append("        writeBool(calldata, ").append(offset).append(", ").append(name).append(");\n");
+            }
+        }
+        out.append("        return toHex(calldata);\n");
+        out.append("    }\n");
+    }
+
+    private static void renderDecoder(StringBuilder out, AbiDefinition function) {
+        List<AbiDefinition.NamedType> outputs = function.getOutputs();
+        boolean single = outputs.size() == 1;
+        String result = single ? javaType(outputs.get(0).getType(), true) : capitalize(function.getName()) + "Result";
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < outputs.size(); i++) {
+            reads.add(read(outputs.get(i).getType(), i));
+        }
+
+        out.append("\n");
+        out.append("    public static ").append(result).append(" decode").append(capitalize(function.getName()))
+                .append("(String returnData) {\n");
+        out.append("        int start = returnData.startsWith(\"0x\") ? 2 : 0;\n");
+        out.append("        if (returnData.length() == start) {\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        out.append("        requireLength(returnData, start + ").append(64 * outputs.size()).append(");\n");
+        if (single) {
+            out.append("        return ").append(reads.get(0)).append(";\n");
+            out.append("    }\n");
+            return;
+        }
+        out.append("        return new ").append(result).append("(\n");
+        out.append(reads.stream().map(read -> "                " + read).collect(Collectors.joining(",\n")));
+        out.append(");\n");
+        out.append("    }\n");
+
+        out.append("\n");
+        out.append("    public record ").append(result).append("(");
+        List<String> components = new ArrayList<>();
+        for (int i = 0; i < outputs.size(); i++) {
+            components.add(javaType(outputs.get(i).getType(), true) + " " + parameterName(outputs.get(i), i));
+        }
+        String indent = " ".repeat(("    public record " + result + "(").length());
+        out.append(String.join(",\n" + indent, components)).append(") {\n");
+        out.append("    }\n");
+    }
+
+    private static String read(String type, int word) {
+        if (type.startsWith("uint")) {
+            return "readUint(returnData, start, " + word + ")";
+        }
+        return switch (type) {
+            case "address" -> "readAddress(returnData, start, " + word + ")";
+            case "bool" -> "readBool(returnData, start, " + word + ")";
+            case "string" -> "readString(returnData, start, " + word + ")";
+            default -> throw unsupported(type);
+        };
+    }
+
+    private static String javaType(String type, boolean output) {
+        if (type.startsWith("uint")) {
+            bits(type);
+            return "BigInteger";
+        }
+        return switch (type) {
+            case "address" -> "String";
+            case "bool" -> "boolean";
+            case "string" -> {
+                if (!output) {
+                    // Dynamic parameters need a tail; keep those on the generic encoder
+                    throw unsupported(type);
+                }
+                yield "String";
+            }
+            default -> throw unsupported(type);
+        };
+    }
+
+    private static int bits(String type) {
+        String size = type.substring("uint".length());
+        if (size.isEmpty()) {
+            return 256;
+        }
+        try {
+            int bits = Integer.parseInt(size);
+            if (bits > 0 && bits <= 256 && bits % 8 == 0) {
+                return bits;
+            }
+        } catch (NumberFormatException ignored) {
+            // fall through to the rejection below
+        }
+        throw unsupported(type);
+    }
+
+    private static IllegalArgumentException unsupported(String type) {
+        return new IllegalArgumentException("Codec generation does not support ABI type " + type);
+    }
+
+    private static String signature(AbiDefinition function) {
+        return function.getName() + function.getInputs().stream()
+                .map(AbiDefinition.NamedType::getType)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static String selector(AbiDefinition function) {
+        return "0x" + Hash.sha3String(signature(function)).substring(2, 10);
+    }
+
+    private static String parameterName(AbiDefinition.NamedType parameter, int index) {
+        String name = parameter.getName() == null ? "" : parameter.getName().replaceFirst("^_+", "");
+        return name.isEmpty() ? "value" + index : name;
+    }
+
+    private static String constant(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static final String HELPERS = """
+
+                private static byte[] calldata(int selector, int words) {
+                    byte[] calldata = new byte[4 + 32 * words];
+                    calldata[0] = (byte) (selector >>> 24);
+                    calldata[1] = (byte) (selector >>> 16);
+                    calldata[2] = (byte) (selector >>> 8);
+                    calldata[3] = (byte) selector;
+                    return calldata;
+                }
+
+                private static void writeUint(byte[] buffer, int offset, BigInteger value, int bits) {
+                    if (value.signum() < 0 || value.bitLength() > bits) {
+                        throw new IllegalArgumentException("Value out of range for uint" + bits + ": " + value);
+                    }
+                    if (value.bitLength() < 64) {
+                        Arrays.fill(buffer, offset, offset + 24, (byte) 0);
+                        long word = value.longValue();
+                        for (int i = offset + 31; i >= offset + 24; i--) {
+                            buffer[i] = (byte) word;
+                            word >>>= 8;
+                        }
+                        return;
+                    }
+                    byte[] bytes = value.toByteArray();
+                    // toByteArray may carry a leading zero sign byte
+                    int length = Math.min(bytes.length, 32);
+                    Arrays.fill(buffer, offset, offset + 32 - length, (byte) 0);
+                    System.arraycopy(bytes, bytes.length - length, buffer, offset + 32 - length, length);
+                }
+
+                private static void writeAddress(byte[] buffer, int offset, String address) {
+                    int start = address.startsWith("0x") ? 2 : 0;
+                    if (address.length() - start != 40) {
+                        throw new IllegalArgumentException("Invalid address: " + address);
+                    }
+                    Arrays.fill(buffer, offset, offset + 12, (byte) 0);
+                    for (int i = 0; i < 20; i++) {
+                        buffer[offset + 12 + i] = (byte) (nibble(address, start + 2 * i) << 4 | nibble(address, start + 2 * i + 1));
+                    }
+                }
+
+                private static void writeBool(byte[] buffer, int offset, boolean value) {
+                    Arrays.fill(buffer, offset, offset + 31, (byte) 0);
+                    buffer[offset + 31] = (byte) (value ? 1 : 0);
+                }
+
+                private static String toHex(byte[] bytes) {
+                    char[] hex = HEX.get();
+                    hex[0] = '0';
+                    hex[1] = 'x';
+                    for (int i = 0; i < bytes.length; i++) {
+                        hex[2 + 2 * i] = HEX_DIGITS[(bytes[i] >>> 4) & 0xf];
+                        hex[3 + 2 * i] = HEX_DIGITS[bytes[i] & 0xf];
+                    }
+                    return new String(hex, 0, 2 + 2 * bytes.length);
+                }
+
+                private static BigInteger readUint(String data, int start, int word) {
+                    int from = start + 64 * word;
+                    int end = from + 64;
+                    int digit = from;
+                    while (digit < end - 15 && data.charAt(digit) == '0') {
+                        digit++;
+                    }
+                    if (end - digit > 15) {
+                        return new BigInteger(data.substring(from, end), 16);
+                    }
+                    // Up to 60 bits: skip the substring and BigInteger parse
+                    long value = 0;
+                    for (; digit < end; digit++) {
+                        value = value << 4 | nibble(data, digit);
+                    }
+                    return BigInteger.valueOf(value);
+                }
+
+                private static String readAddress(String data, int start, int word) {
+                    int from = start + 64 * word;
+                    return "0x" + data.substring(from + 24, from + 64);
+                }
+
+                private static boolean readBool(String data, int start, int word) {
+                    return data.charAt(start + 64 * word + 63) != '0';
+                }
+
+                private static String readString(String data, int start, int word) {
+                    int lengthAt = start + 2 * readLength(data, start + 64 * word);
+                    requireLength(data, lengthAt + 64);
+                    int length = readLength(data, lengthAt);
+                    int from = lengthAt + 64;
+                    requireLength(data, from + 2 * length);
+                    byte[] bytes = new byte[length];
+                    for (int i = 0; i < length; i++) {
+                        bytes[i] = (byte) (nibble(data, from + 2 * i) << 4 | nibble(data, from + 2 * i + 1));
+                    }
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+
+                private static int readLength(String data, int from) {
+                    long value = 0;
+                    for (int digit = from; digit < from + 64; digit++) {
+                        value = value << 4 | nibble(data, digit);
+                        if (value > Integer.MAX_VALUE) {
+                            throw new IllegalArgumentException("Offset or length out of range at " + from);
+                        }
+                    }
+                    return (int) value;
+                }
+
+                private static void requireLength(String data, int length) {
+                    if (data.length() < length) {
+                        throw new IllegalArgumentException("Return data too short: " + data.length() + " < " + length);
+                    }
+                }
+
+                private static int nibble(String hex, int index) {
+                    int value = Character.digit(hex.charAt(index), 16);
+                    if (value < 0) {
+                        throw new IllegalArgumentException("Invalid hex character at " + index);
+                    }
+                    return value;
+                }
+            """;
+}
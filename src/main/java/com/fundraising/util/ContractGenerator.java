@@ -11,8 +11,13 @@ import java.io.File;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 public class ContractGenerator {
+    // Functions on the donation and campaign read paths
+    private static final List<String> CODEC_FUNCTIONS = List.of("makeDonation", "withdrawFunds", "getCampaign");
+
     public static void generateContractWrapper(String contractBinary, String contractAbi, String outputPath, String packageName) {
         try {
             File binFile = new File("build/contracts/FundraisingCampaign.bin");
@@ -53,6 +58,12 @@ public class ContractGenerator {
             generateContractWrapper(binary, abi, destinationDir, basePackageName);
 
             System.out.println("Contract wrapper generated successfully!");
+
+            if (Arrays.asList(args).contains("--codec")) {
+                ContractCodecGenerator.generate(new File("build/contracts/FundraisingCampaign.abi"),
+                        destinationDir, basePackageName, contractName, CODEC_FUNCTIONS);
+                System.out.println("Contract codec generated successfully!");
+            }
         } catch (Exception e) {
             System.err.println("Error generating contract wrapper: " + e.getMessage());
             e.printStackTrace();
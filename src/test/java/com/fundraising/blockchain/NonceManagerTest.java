@@ -0,0 +1,190 @@
+package com.fundraising.blockchain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Nonce reservation against a stubbed {@code eth_getTransactionCount}: gap filling, resyncs and
+ * many threads reserving for one sender.
+ */
+class NonceManagerTest {
+    private static final String SENDER = "0x70997970C51812dc3A010C7d01b50e0d17dc79C8";
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicInteger countQueries = new AtomicInteger();
+    private volatile CountDownLatch countQueried;
+    private volatile CountDownLatch answerCount;
+    private NonceManager nonceManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Web3j web3j = mock(Web3j.class);
+        Request<?, EthGetTransactionCount> request = mock(Request.class);
+        when(request.send()).thenAnswer(invocation -> {
+            countQueries.incrementAndGet();
+            if (countQueried != null) {
+                countQueried.countDown();
+                answerCount.await();
+            }
+            EthGetTransactionCount response = new EthGetTransactionCount();
+            response.setResult("0x" + Long.toHexString(pendingCount.get()));
+            return response;
+        });
+        doReturn(request).when(web3j).ethGetTransactionCount(anyString(), any());
+        nonceManager = new NonceManager(web3j);
+    }
+
+    @Test
+    void startsFromPendingCountAndFillsReleasedGapsFirst() throws Exception {
+        pendingCount.set(5);
+
+        assertEquals(List.of(nonce(5), nonce(6), nonce(7)), List.of(reserve(), reserve(), reserve()));
+        nonceManager.release(SENDER, nonce(6));
+        assertEquals(nonce(6), reserve());
+        assertEquals(nonce(8), reserve());
+
+        nonceManager.release(SENDER, nonce(7));
+        nonceManager.release(SENDER, nonce(5));
+        assertEquals(List.of(nonce(5), nonce(7), nonce(9)), nonceManager.reserve(SENDER, 3));
+        assertEquals(1, countQueries.get());
+    }
+
+    @Test
+    void ignoresReleaseOfNonceNeverHandedOut() throws Exception {
+        pendingCount.set(2);
+        reserve();
+
+        nonceManager.release(SENDER, nonce(10));
+
+        assertEquals(nonce(3), reserve());
+    }
+
+    @Test
+    void resyncDropsReleasedNoncesAndRestartsFromNode() throws Exception {
+        pendingCount.set(3);
+        reserve();
+        reserve();
+        nonceManager.release(SENDER, nonce(3));
+
+        pendingCount.set(12);
+        nonceManager.resync(SENDER);
+
+        assertEquals(nonce(12), reserve());
+        assertEquals(nonce(13), reserve());
+    }
+
+    @Test
+    void nonceErrorsResyncAndOtherRejectionsRelease() throws Exception {
+        pendingCount.set(0);
+        reserve();
+        reserve();
+
+        nonceManager.onRejected(SENDER, nonce(1), "insufficient funds for gas * price + value");
+        assertEquals(nonce(1), reserve());
+
+        pendingCount.set(7);
+        nonceManager.onRejected(SENDER, nonce(1), "nonce too low");
+        assertEquals(nonce(7), reserve());
+    }
+
+    @Test
+    void resyncHoldsReservationsUntilTheNodeAnswers() throws Exception {
+        pendingCount.set(3);
+        assertEquals(nonce(3), reserve());
+
+        countQueried = new CountDownLatch(1);
+        answerCount = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Void> resync = executor.submit((Callable<Void>) () -> {
+                nonceManager.resync(SENDER);
+                return null;
+            });
+            assertTrue(countQueried.await(5, TimeUnit.SECONDS));
+            Future<BigInteger> reservation = executor.submit(this::reserve);
+            assertThrows(TimeoutException.class, () -> reservation.get(200, TimeUnit.MILLISECONDS));
+
+            pendingCount.set(10);
+            answerCount.countDown();
+            resync.get(5, TimeUnit.SECONDS);
+            assertEquals(nonce(10), reservation.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentReservationsAreUniqueAndContiguous() throws Exception {
+        int threads = 16;
+        int perThread = 500;
+        pendingCount.set(100);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<BigInteger>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                boolean bulk = t % 2 == 0;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<BigInteger> reserved = new ArrayList<>();
+                    while (reserved.size() < perThread) {
+                        if (bulk) {
+                            reserved.addAll(nonceManager.reserve(SENDER, 5));
+                        } else {
+                            reserved.add(reserve());
+                        }
+                    }
+                    return reserved;
+                }));
+            }
+            start.countDown();
+
+            TreeSet<BigInteger> all = new TreeSet<>();
+            for (Future<List<BigInteger>> result : results) {
+                for (BigInteger nonce : result.get(10, TimeUnit.SECONDS)) {
+                    assertTrue(all.add(nonce), "Nonce " + nonce + " handed out twice");
+                }
+            }
+            assertEquals(threads * perThread, all.size());
+            assertEquals(nonce(100), all.first());
+            assertEquals(nonce(100L + threads * perThread - 1), all.last());
+            assertEquals(1, countQueries.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BigInteger reserve() throws Exception {
+        return nonceManager.reserve(SENDER);
+    }
+
+    private static BigInteger nonce(long value) {
+        return BigInteger.valueOf(value);
+    }
+}
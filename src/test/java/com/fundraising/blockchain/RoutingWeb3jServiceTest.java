@@ -0,0 +1,263 @@
+package com.fundraising.blockchain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing and failover against local JSON-RPC stand-ins with injected delays, transport failures
+ * and lagging heads.
+ */
+class RoutingWeb3jServiceTest {
+    private static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+
+    private final List<StandInNode> standIns = new ArrayList<>();
+    private RoutingWeb3jService service;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (service != null) {
+            service.close();
+        }
+        standIns.forEach(StandInNode::stop);
+    }
+
+    @Test
+    void retriesTransportFailureOnNextNode() throws Exception {
+        StandInNode broken = standIn("broken", 100, 0);
+        StandInNode healthy = standIn("healthy", 100, 0);
+        service = routing(broken, healthy);
+        broken.failing = true;
+
+        EthCall response = call(DefaultBlockParameterName.LATEST).send();
+
+        assertFalse(response.hasError());
+        assertEquals("0x" + Integer.toHexString("healthy".hashCode()), response.getValue());
+        assertEquals(1, healthy.calls("eth_call"));
+    }
+
+    @Test
+    void throwsWhenEveryNodeFails() throws Exception {
+        StandInNode first = standIn("first", 100, 0);
+        StandInNode second = standIn("second", 100, 0);
+        service = routing(first, second);
+        first.failing = true;
+        second.failing = true;
+
+        assertThrows(RuntimeException.class, () -> call(DefaultBlockParameterName.LATEST).send());
+        assertEquals(1, first.calls("eth_call"));
+        assertEquals(1, second.calls("eth_call"));
+    }
+
+    @Test
+    void sendsReadsToFastestNode() throws Exception {
+        StandInNode slow = standIn("slow", 100, 150);
+        StandInNode fast = standIn("fast", 100, 0);
+        service = routing(slow, fast);
+
+        for (int i = 0; i < 5; i++) {
+            call(DefaultBlockParameterName.LATEST).send();
+        }
+
+        assertEquals(0, slow.calls("eth_call"));
+        assertEquals(5, fast.calls("eth_call"));
+    }
+
+    @Test
+    void sendsNonceQueriesToPrimaryEvenWhenSlower() throws Exception {
+        StandInNode primary = standIn("primary", 100, 50);
+        StandInNode fast = standIn("fast", 100, 0);
+        service = routing(primary, fast);
+
+        EthGetTransactionCount response = new Request<>("eth_getTransactionCount",
+                List.of(CONTRACT, DefaultBlockParameterName.PENDING), service, EthGetTransactionCount.class).send();
+
+        assertFalse(response.hasError());
+        assertEquals(1, primary.calls("eth_getTransactionCount"));
+        assertEquals(0, fast.calls("eth_getTransactionCount"));
+    }
+
+    @Test
+    void routesBlockPinnedReadsToNodesThatReachedTheBlock() throws Exception {
+        StandInNode lagging = standIn("lagging", 100, 0);
+        StandInNode current = standIn("current", 120, 30);
+        service = routing(lagging, current);
+
+        EthCall response = call(DefaultBlockParameter.valueOf(BigInteger.valueOf(110))).send();
+
+        assertFalse(response.hasError());
+        assertEquals(0, lagging.calls("eth_call"));
+        assertEquals(1, current.calls("eth_call"));
+    }
+
+    @Test
+    void retriesMissingBlockErrorOnNextNode() throws Exception {
+        StandInNode lagging = standIn("lagging", 100, 0);
+        StandInNode current = standIn("current", 100, 30);
+        service = routing(lagging, current);
+        // Heads advance after the last health check, so routing cannot know the fast node lacks the block
+        lagging.head = 100;
+        current.head = 120;
+
+        EthCall response = call(DefaultBlockParameter.valueOf(BigInteger.valueOf(110))).send();
+
+        assertFalse(response.hasError());
+        assertEquals("0x" + Integer.toHexString("current".hashCode()), response.getValue());
+        assertEquals(1, lagging.calls("eth_call"));
+        assertEquals(1, current.calls("eth_call"));
+    }
+
+    @Test
+    void returnsMissingBlockErrorWhenNoNodeHasTheBlock() throws Exception {
+        StandInNode first = standIn("first", 100, 0);
+        StandInNode second = standIn("second", 100, 0);
+        service = routing(first, second);
+
+        EthCall response = call(DefaultBlockParameter.valueOf(BigInteger.valueOf(500))).send();
+
+        assertTrue(response.hasError());
+        assertEquals("header not found", response.getError().getMessage());
+    }
+
+    private Request<?, EthCall> call(DefaultBlockParameter block) {
+        Transaction transaction = Transaction.createEthCallTransaction(null, CONTRACT, "0x");
+        return new Request<>("eth_call", List.of(transaction, block), service, EthCall.class);
+    }
+
+    private RoutingWeb3jService routing(StandInNode... nodes) throws InterruptedException {
+        List<String> urls = new ArrayList<>();
+        for (StandInNode node : nodes) {
+            urls.add(node.url());
+        }
+        RoutingWeb3jService routing = new RoutingWeb3jService(urls,
+                RoutingWeb3jService.httpClient(4, 30_000, 8, 1_000, 2_000),
+                3_600_000, 5, 3, new SimpleMeterRegistry());
+        // Wait for the initial health check to record every node's head
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (routing.getNodeStatuses().stream().anyMatch(status -> status.blockNumber() < 0)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Initial health check did not complete");
+            }
+            Thread.sleep(10);
+        }
+        return routing;
+    }
+
+    private StandInNode standIn(String name, long head, long delayMillis) throws IOException {
+        StandInNode node = new StandInNode(name, head, delayMillis);
+        standIns.add(node);
+        return node;
+    }
+
+    /** Minimal JSON-RPC node: a block head, a fixed delay per call and an HTTP 500 switch. */
+    private static final class StandInNode {
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        private final String name;
+        private final long delayMillis;
+        private final HttpServer server;
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        private volatile long head;
+        private volatile boolean failing;
+
+        private StandInNode(String name, long head, long delayMillis) throws IOException {
+            this.name = name;
+            this.head = head;
+            this.delayMillis = delayMillis;
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+                String method = request.get("method").asText();
+                calls.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet();
+                sleep();
+                if (failing) {
+                    exchange.sendResponseHeaders(500, -1);
+                    exchange.close();
+                    return;
+                }
+                byte[] body = MAPPER.writeValueAsBytes(respond(request, method));
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+        }
+
+        private ObjectNode respond(JsonNode request, String method) {
+            ObjectNode response = MAPPER.createObjectNode();
+            response.put("jsonrpc", "2.0");
+            response.set("id", request.get("id"));
+            switch (method) {
+                case "eth_blockNumber" -> response.put("result", "0x" + Long.toHexString(head));
+                case "eth_getTransactionCount" -> response.put("result", "0x1");
+                case "eth_call" -> {
+                    String block = request.get("params").get(1).asText();
+                    if (block.startsWith("0x") && Long.decode(block) > head) {
+                        ObjectNode error = response.putObject("error");
+                        error.put("code", -32000);
+                        error.put("message", "header not found");
+                    } else {
+                        response.put("result", "0x" + Integer.toHexString(name.hashCode()));
+                    }
+                }
+                default -> {
+                    ObjectNode error = response.putObject("error");
+                    error.put("code", -32601);
+                    error.put("message", "method not found");
+                }
+            }
+            return response;
+        }
+
+        private void sleep() {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private int calls(String method) {
+            AtomicInteger count = calls.get(method);
+            return count == null ? 0 : count.get();
+        }
+
+        private String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        }
+
+        private void stop() {
+            server.stop(0);
+        }
+    }
+}
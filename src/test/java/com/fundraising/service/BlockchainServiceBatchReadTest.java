@@ -0,0 +1,155 @@
+package com.fundraising.service;
+
+import com.fundraising.blockchain.CampaignKey;
+import com.fundraising.blockchain.CampaignSnapshot;
+import com.fundraising.blockchain.CampaignStateCache;
+import com.fundraising.blockchain.TransactionReceiptTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.tx.ReadonlyTransactionManager;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link BlockchainService#getCampaigns} against a Web3jService stub that records every batch:
+ * reads go out in chunks of {@code ethereum.rpc.max-batch-size}, one round trip each, and come
+ * back decoded in the order they were asked for.
+ */
+class BlockchainServiceBatchReadTest {
+    private static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+    private static final String CREATOR = "0x70997970c51812dc3a010c7d01b50e0d17dc79c8";
+    private static final BigInteger REVERTING_ID = BigInteger.valueOf(5);
+
+    private final RecordingService node = new RecordingService();
+    private final BlockchainService blockchainService = new BlockchainService();
+
+    @BeforeEach
+    void setUp() {
+        Web3j web3j = Web3j.build(node);
+        ReflectionTestUtils.setField(blockchainService, "web3j", web3j);
+        ReflectionTestUtils.setField(blockchainService, "transactionManager", new ReadonlyTransactionManager(web3j, CREATOR));
+        ReflectionTestUtils.setField(blockchainService, "receiptTracker",
+                new TransactionReceiptTracker(web3j, event -> { }, 1_000, 600_000, 100, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(blockchainService, "campaignStateCache", new CampaignStateCache(100, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(blockchainService, "maxBatchSize", 3);
+    }
+
+    @Test
+    void readsInChunksOfMaxBatchSizeAndKeepsRequestOrder() throws Exception {
+        List<CampaignKey> keys = new ArrayList<>();
+        for (long id : new long[] {9, 2, 7, 5, 1, 8, 3}) {
+            keys.add(new CampaignKey(CONTRACT, BigInteger.valueOf(id)));
+        }
+        // Asked for twice, read once
+        keys.add(keys.get(1));
+
+        Map<CampaignKey, CampaignSnapshot> snapshots = blockchainService.getCampaigns(keys);
+
+        assertEquals(List.of(3, 3, 1), node.batchSizes);
+        assertEquals(List.of(9L, 2L, 7L, 5L, 1L, 8L, 3L), node.campaignIds);
+        List<CampaignKey> expected = new ArrayList<>(keys.subList(0, 7));
+        expected.remove(3);
+        assertEquals(expected, new ArrayList<>(snapshots.keySet()));
+        for (CampaignSnapshot snapshot : snapshots.values()) {
+            BigInteger id = snapshot.key().campaignId();
+            assertEquals("Campaign " + id, snapshot.title());
+            assertEquals("Description " + id, snapshot.description());
+            assertEquals(id.multiply(BigInteger.TEN.pow(18)), snapshot.targetAmount());
+            assertEquals(id, snapshot.currentAmount());
+        }
+    }
+
+    /**
+     * Answers every eth_call in a batch with a getCampaign tuple derived from the campaign id,
+     * in reverse order so responses have to be matched by request id; {@link #REVERTING_ID} reverts.
+     */
+    private static final class RecordingService implements Web3jService {
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final List<Long> campaignIds = new ArrayList<>();
+
+        @Override
+        public BatchResponse sendBatch(BatchRequest batch) {
+            batchSizes.add(batch.getRequests().size());
+            List<Response<?>> responses = new ArrayList<>();
+            for (Request<?, ? extends Response<?>> request : batch.getRequests()) {
+                String data = ((Transaction) request.getParams().get(0)).getData();
+                BigInteger id = Numeric.toBigInt(data.substring(data.length() - 64));
+                campaignIds.add(id.longValueExact());
+                EthCall call = new EthCall();
+                call.setId(request.getId());
+                if (REVERTING_ID.equals(id)) {
+                    call.setError(new Response.Error(3, "execution reverted"));
+                } else {
+                    call.setResult("0x" + FunctionEncoder.encodeConstructor(campaign(id)));
+                }
+                responses.add(call);
+            }
+            Collections.reverse(responses);
+            return new BatchResponse(batch.getRequests(), responses);
+        }
+
+        private static List<Type> campaign(BigInteger id) {
+            return List.of(
+                    new Utf8String("Campaign " + id),
+                    new Utf8String("Description " + id),
+                    new Uint256(id.multiply(BigInteger.TEN.pow(18))),
+                    new Uint256(id),
+                    new Uint256(BigInteger.valueOf(1_700_000_000L)),
+                    new Uint256(BigInteger.valueOf(4_000_000_000L)),
+                    new Address(CREATOR),
+                    new Bool(true),
+                    new Bool(false));
+        }
+
+        @Override
+        public <T extends Response> T send(Request request, Class<T> responseType) {
+            throw new UnsupportedOperationException(request.getMethod());
+        }
+
+        @Override
+        public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+            throw new UnsupportedOperationException(request.getMethod());
+        }
+
+        @Override
+        public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batch) {
+            return CompletableFuture.completedFuture(sendBatch(batch));
+        }
+
+        @Override
+        public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod,
+                                                                  Class<T> responseType) {
+            throw new UnsupportedOperationException(request.getMethod());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
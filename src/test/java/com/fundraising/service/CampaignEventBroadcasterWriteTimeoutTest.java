@@ -0,0 +1,111 @@
+package com.fundraising.service;
+
+import com.fundraising.domain.Campaign;
+import com.fundraising.domain.Donation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A Server-Sent Events client that stops reading: its stream must be closed once a send overruns
+ * the write timeout, with the drain pool covered while the blocked write waits for Tomcat.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:campaign-events-timeout;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "ethereum.node.url=http://127.0.0.1:8545",
+        "ethereum.node.health-check-interval-ms=3600000",
+        "ethereum.receipts.poll-interval-ms=3600000",
+        "ethereum.indexer.enabled=false",
+        "ethereum.deployer.enabled=false",
+        "ethereum.contract.address=0x5fbdb2315678afecb367f032d93f642f64180aa3",
+        "ethereum.deployer.private-key=0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318",
+        "campaign.events.write-timeout-ms=300",
+        "server.tomcat.connection-timeout=2s"
+})
+class CampaignEventBroadcasterWriteTimeoutTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("campaignEventExecutor")
+    private ThreadPoolTaskExecutor campaignEventExecutor;
+
+    @Test
+    void closesStreamOfClientThatStopsReading() throws Exception {
+        int poolSize = campaignEventExecutor.getCorePoolSize();
+        try (Socket client = new Socket()) {
+            client.setReceiveBufferSize(4096);
+            client.connect(new InetSocketAddress("127.0.0.1", port));
+            OutputStream out = client.getOutputStream();
+            out.write(("GET /api/campaigns/events HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            awaitTrue(() -> subscribers() == 1, "subscription");
+
+            // Never read: the socket buffers fill and a send blocks
+            Donation donation = donation();
+            long deadline = System.currentTimeMillis() + 20_000;
+            while (writeTimeouts() == 0 && System.currentTimeMillis() < deadline) {
+                eventPublisher.publishEvent(new CampaignUpdatedEvent(donation.getCampaign().getId(), donation));
+                Thread.sleep(1);
+            }
+
+            assertEquals(1.0, writeTimeouts());
+            assertEquals(0.0, subscribers());
+            // Tomcat fails the blocked write after its connection timeout and the stand-in thread goes away
+            awaitTrue(() -> campaignEventExecutor.getCorePoolSize() == poolSize, "pool size restored");
+        }
+    }
+
+    private Donation donation() {
+        Campaign campaign = new Campaign();
+        campaign.setId(1L);
+        Donation donation = new Donation();
+        donation.setId(1L);
+        donation.setCampaign(campaign);
+        donation.setDonorAddress("0x70997970c51812dc3a010c7d01b50e0d17dc79c8");
+        donation.setAmount(BigInteger.TEN.pow(18));
+        donation.setStatus("FAILED");
+        donation.setFailureReason("x".repeat(1000));
+        donation.setTimestamp(BigInteger.valueOf(1_700_000_000L));
+        return donation;
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("campaign.events.subscribers").gauge().value();
+    }
+
+    private double writeTimeouts() {
+        return meterRegistry.get("campaign.events.write.timeouts").counter().count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + what);
+            Thread.sleep(20);
+        }
+    }
+}
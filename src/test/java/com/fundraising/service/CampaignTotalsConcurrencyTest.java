@@ -0,0 +1,87 @@
+package com.fundraising.service;
+
+import com.fundraising.domain.Campaign;
+import com.fundraising.repository.CampaignRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Thousands of parallel credits to one campaign through {@link CampaignService#addToCampaignTotal}:
+ * the total must be exact and exactly one caller may see the campaign become FUNDED.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:campaign-totals;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "ethereum.node.url=http://127.0.0.1:8545",
+        "ethereum.node.health-check-interval-ms=3600000",
+        "ethereum.receipts.poll-interval-ms=3600000",
+        "ethereum.indexer.enabled=false",
+        "ethereum.deployer.enabled=false",
+        "ethereum.contract.address=0x5fbdb2315678afecb367f032d93f642f64180aa3",
+        "ethereum.deployer.private-key=0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318"
+})
+class CampaignTotalsConcurrencyTest {
+    private static final int DONATIONS = 4000;
+    private static final int THREADS = 32;
+    private static final BigInteger AMOUNT = BigInteger.TEN.pow(16);
+
+    @Autowired
+    private CampaignService campaignService;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Test
+    void parallelDonationsAddUpExactlyAndFundTheCampaignOnce() throws Exception {
+        Campaign campaign = new Campaign();
+        campaign.setTitle("Concurrent campaign");
+        campaign.setDescription("Credited from many threads at once");
+        // Reached halfway through, so the FUNDED transition races with the remaining credits
+        campaign.setTargetAmount(AMOUNT.multiply(BigInteger.valueOf(DONATIONS / 2)));
+        campaign.setEndDate(BigInteger.valueOf(4_000_000_000L));
+        campaign.setContractAddress("0x5fbdb2315678afecb367f032d93f642f64180aa3");
+        campaign.setOnChainId(BigInteger.ONE);
+        campaign.setStatus("ACTIVE");
+        Long campaignId = campaignRepository.save(campaign).getId();
+
+        AtomicInteger fundedTransitions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> credits = new ArrayList<>(DONATIONS);
+            for (int i = 0; i < DONATIONS; i++) {
+                credits.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    if (campaignService.addToCampaignTotal(campaignId, AMOUNT)) {
+                        fundedTransitions.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> credit : credits) {
+                credit.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Campaign credited = campaignRepository.findById(campaignId).orElseThrow();
+        assertEquals(AMOUNT.multiply(BigInteger.valueOf(DONATIONS)), credited.getCurrentAmount());
+        assertEquals("FUNDED", credited.getStatus());
+        assertEquals(1, fundedTransitions.get());
+    }
+}
@@ -0,0 +1,171 @@
+package com.fundraising.service;
+
+import com.fundraising.blockchain.BulkSubmission;
+import com.fundraising.blockchain.BulkTransactionSubmitter;
+import com.fundraising.contracts.FundraisingCampaign;
+import com.fundraising.domain.Campaign;
+import com.fundraising.domain.Donation;
+import com.fundraising.repository.CampaignRepository;
+import com.fundraising.repository.DonationRepository;
+import com.fundraising.repository.IndexerCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pipeline donations reconciled by the chain indexer: a mined DonationReceived log must confirm
+ * the donation it belongs to, once, whether the pipeline is still waiting for the receipt or has
+ * already given up on it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:donation-reconciliation;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "ethereum.node.url=http://127.0.0.1:8545",
+        "ethereum.node.health-check-interval-ms=3600000",
+        "ethereum.receipts.poll-interval-ms=3600000",
+        "ethereum.indexer.enabled=false",
+        "ethereum.deployer.enabled=false",
+        "ethereum.contract.address=" + DonationReconciliationTest.CONTRACT,
+        "ethereum.deployer.private-key=0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318"
+})
+class DonationReconciliationTest {
+    static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+    private static final String DONOR = "0x70997970c51812dc3a010c7d01b50e0d17dc79c8";
+    private static final BigInteger AMOUNT = BigInteger.TEN.pow(17);
+
+    @MockBean
+    private Web3j web3j;
+
+    @MockBean
+    private BulkTransactionSubmitter bulkTransactionSubmitter;
+
+    @Autowired
+    private CampaignService campaignService;
+
+    @Autowired
+    private DonationPipelineService donationPipelineService;
+
+    @Autowired
+    private ChainEventIndexer chainEventIndexer;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private IndexerCheckpointRepository checkpointRepository;
+
+    private Campaign campaign;
+
+    @BeforeEach
+    void setUp() {
+        checkpointRepository.deleteAll();
+        campaign = new Campaign();
+        campaign.setTitle("Reconciled campaign");
+        campaign.setDescription("Donations confirmed from chain logs");
+        campaign.setTargetAmount(AMOUNT.multiply(BigInteger.valueOf(100)));
+        campaign.setEndDate(BigInteger.valueOf(4_000_000_000L));
+        campaign.setContractAddress(CONTRACT);
+        campaign.setOnChainId(BigInteger.valueOf(System.nanoTime()));
+        campaign.setStatus("ACTIVE");
+        campaign = campaignRepository.save(campaign);
+    }
+
+    @Test
+    void indexerConfirmsDonationFailedBeforeItWasMined() throws Exception {
+        String hash = transactionHash(1);
+        Donation donation = campaignService.createPendingDonation(campaign.getId(), DONOR, AMOUNT);
+        campaignService.failDonation(donation.getId(), hash, "Transaction receipt was not generated");
+
+        indexDonationLog(hash);
+
+        Donation confirmed = donationRepository.findById(donation.getId()).orElseThrow();
+        assertEquals("CONFIRMED", confirmed.getStatus());
+        assertNull(confirmed.getFailureReason());
+        assertEquals(1, donationRepository.findByCampaignId(campaign.getId()).size());
+        assertEquals(AMOUNT, campaignRepository.findById(campaign.getId()).orElseThrow().getCurrentAmount());
+    }
+
+    @Test
+    void pipelineRecordsHashBeforeBroadcastSoIndexerConfirmsInsteadOfInserting() throws Exception {
+        String hash = transactionHash(2);
+        Donation[] recordedWhenSent = new Donation[1];
+        CountDownLatch sent = new CountDownLatch(1);
+        when(bulkTransactionSubmitter.submit(anyList(), any())).thenAnswer(invocation -> {
+            Consumer<List<String>> beforeSend = invocation.getArgument(1);
+            beforeSend.accept(List.of(hash));
+            // What the node would broadcast is already on record
+            recordedWhenSent[0] = donationRepository.findByTransactionHash(hash);
+            sent.countDown();
+            return List.of(new BulkSubmission(BigInteger.ZERO, hash, null));
+        });
+
+        Long donationId = donationPipelineService.submitDonation(campaign.getId(), DONOR, AMOUNT).getId();
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        assertEquals(donationId, recordedWhenSent[0].getId());
+
+        indexDonationLog(hash);
+
+        List<Donation> donations = donationRepository.findByCampaignId(campaign.getId());
+        assertEquals(1, donations.size());
+        assertEquals(donationId, donations.get(0).getId());
+        assertEquals("CONFIRMED", donations.get(0).getStatus());
+        assertEquals(AMOUNT, campaignRepository.findById(campaign.getId()).orElseThrow().getCurrentAmount());
+    }
+
+    /** Runs the indexer over a head whose only log is a DonationReceived for {@code hash}. */
+    private void indexDonationLog(String hash) throws Exception {
+        EthBlockNumber blockNumber = new EthBlockNumber();
+        blockNumber.setResult("0xc");
+        Request<?, EthBlockNumber> blockNumberRequest = mock(Request.class);
+        when(blockNumberRequest.send()).thenReturn(blockNumber);
+        doReturn(blockNumberRequest).when(web3j).ethBlockNumber();
+
+        EthLog.LogObject entry = new EthLog.LogObject();
+        entry.setAddress(CONTRACT);
+        entry.setTopics(List.of(EventEncoder.encode(FundraisingCampaign.DONATIONRECEIVED_EVENT),
+                Numeric.toHexStringWithPrefixZeroPadded(campaign.getOnChainId(), 64)));
+        entry.setData("0x" + TypeEncoder.encode(new Address(DONOR)) + TypeEncoder.encode(new Uint256(AMOUNT)));
+        entry.setTransactionHash(hash);
+        entry.setBlockNumber("0x5");
+        EthLog logs = new EthLog();
+        logs.setResult(List.of(entry));
+        Request<?, EthLog> logsRequest = mock(Request.class);
+        when(logsRequest.send()).thenReturn(logs);
+        doReturn(logsRequest).when(web3j).ethGetLogs(any());
+
+        chainEventIndexer.indexToHead();
+    }
+
+    private static String transactionHash(int seed) {
+        return Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(System.nanoTime() + seed), 64);
+    }
+}